@@ -2,6 +2,7 @@
 // src/main/java/com/au/cl/config/SecurityConfig.java
 package com.au.cl.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -35,6 +36,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> {})
             .authorizeHttpRequests(authorize -> authorize
+                // Async dispatches only complete responses (streamed bodies) whose request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints accessible without authentication
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/", "/index.html", "/register.html").permitAll() // These are HTML pages, permitAll them
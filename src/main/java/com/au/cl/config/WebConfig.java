@@ -20,6 +20,7 @@ public class WebConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "X-Next-Cursor", "X-Total-Count") // Readable by the dashboards' fetch calls
                 .allowCredentials(true);
     }
 }
\ No newline at end of file
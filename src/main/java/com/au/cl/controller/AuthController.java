@@ -26,7 +26,11 @@ import com.au.cl.payload.request.LoginRequest;
 import com.au.cl.payload.request.UserRegistrationRequest;
 import com.au.cl.payload.response.ApiResponse;
 import com.au.cl.repository.UserRepository;
+import com.au.cl.service.DashboardSnapshot;
+import com.au.cl.service.ResourceVersions;
 import com.au.cl.service.UserDetailsServiceImpl;
+import com.au.cl.service.UserService;
+import com.au.cl.service.UsernameIndex;
 import com.au.cl.util.JwtUtil;
 
 import jakarta.servlet.http.Cookie;
@@ -50,6 +54,10 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtConfig jwtConfig;
+    private final UsernameIndex usernameIndex;
+    private final ResourceVersions resourceVersions;
+    private final DashboardSnapshot dashboardSnapshot;
+    private final UserService userService;
 
     public AuthController(
             final AuthenticationManager authenticationManager,
@@ -57,13 +65,21 @@ public class AuthController {
             final JwtUtil jwtUtil,
             final UserRepository userRepository,
             final PasswordEncoder passwordEncoder,
-            final JwtConfig jwtConfig) {
+            final JwtConfig jwtConfig,
+            final UsernameIndex usernameIndex,
+            final ResourceVersions resourceVersions,
+            final DashboardSnapshot dashboardSnapshot,
+            final UserService userService) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtConfig = jwtConfig;
+        this.usernameIndex = usernameIndex;
+        this.resourceVersions = resourceVersions;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.userService = userService;
     }
 
     /**
@@ -84,6 +100,10 @@ public class AuthController {
         newUser.setAlive(true);
 
         userRepository.save(newUser);
+        usernameIndex.add(newUser.getId(), newUser.getUsername());
+        userService.avengersChanged();
+        resourceVersions.userChanged(newUser.getId());
+        dashboardSnapshot.avengerRegistered();
         logger.info("User {} registered successfully!", newUser.getUsername());
         return new ResponseEntity<>(new ApiResponse(true, "User registered successfully!"), HttpStatus.CREATED);
     }
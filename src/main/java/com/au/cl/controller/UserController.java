@@ -1,54 +1,93 @@
 package com.au.cl.controller;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.au.cl.dto.AnnouncementCreateRequest;
 import com.au.cl.dto.AnnouncementDTO;
-import com.au.cl.dto.AttendanceRecordDTO;
+import com.au.cl.dto.AttendanceHeatmapDTO;
+import com.au.cl.dto.AttendanceMatrixDTO;
 import com.au.cl.dto.AttendanceSessionResponse;
 import com.au.cl.dto.AttendanceStatsDTO;
+import com.au.cl.dto.AvengerBootstrapDTO;
+import com.au.cl.dto.AvengerBootstrapQuery;
+import com.au.cl.dto.AvengerSyncDTO;
+import com.au.cl.dto.AttendanceWriterMetricsDTO;
+import com.au.cl.dto.BulkAttendanceRequest;
+import com.au.cl.dto.BulkAttendanceResultDTO;
+import com.au.cl.dto.CacheMetricsDTO;
+import com.au.cl.dto.ConditionalGetMetricsDTO;
 import com.au.cl.dto.DashboardStatsDTO;
 import com.au.cl.dto.FeedbackCreateRequest;
-import com.au.cl.dto.FeedbackDTO;
+import com.au.cl.dto.FeedbackDetailDTO;
+import com.au.cl.dto.FeedbackMarkReadRequest;
+import com.au.cl.dto.FeedbackRollupDTO;
 import com.au.cl.dto.MissionCreateRequest;
 import com.au.cl.dto.MissionDTO;
+import com.au.cl.dto.PageQuery;
 import com.au.cl.dto.PaymentRequest;
 import com.au.cl.dto.ProfileUpdateRequest;
-import com.au.cl.dto.TransactionDTO;
+import com.au.cl.dto.SearchResultDTO;
+import com.au.cl.dto.SessionRosterDTO;
 import com.au.cl.dto.UserDTO;
-import com.au.cl.model.Mission.MissionStatus;
-import com.au.cl.model.Role;
-import com.au.cl.model.Transaction.TransactionType;
+import com.au.cl.dto.UsernameSuggestionDTO;
+import com.au.cl.model.FeedbackCategory;
 import com.au.cl.model.User;
 import com.au.cl.payload.response.ApiResponse;
 import com.au.cl.repository.UserRepository;
 import com.au.cl.service.AnnouncementService;
+import com.au.cl.service.AttendanceReportService;
 import com.au.cl.service.AttendanceService;
+import com.au.cl.service.AvengerDashboardService;
+import com.au.cl.service.BusinessCalendar;
+import com.au.cl.service.DashboardSnapshot;
+import com.au.cl.service.FeedbackAnalytics;
+import com.au.cl.service.FeedbackAnalytics.Granularity;
 import com.au.cl.service.FeedbackService;
 import com.au.cl.service.MissionService;
+import com.au.cl.service.RecentActivityService;
+import com.au.cl.service.ResourceVersions;
+import com.au.cl.service.ResourceVersions.Resource;
+import com.au.cl.service.SearchIndexService;
 import com.au.cl.service.TransactionService;
 import com.au.cl.service.UserService;
+import com.au.cl.service.UsernameIndex;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.JsonArrayStreamer;
+import com.au.cl.util.PageLimits;
+import com.au.cl.util.ReadCaches;
 
 import jakarta.validation.Valid;
 
@@ -70,11 +109,35 @@ public class UserController {
     private final FeedbackService feedbackService;
     private final AnnouncementService announcementService;
     private final UserService userService;
+    private final SearchIndexService searchIndexService;
+    private final UsernameIndex usernameIndex;
+    private final BusinessCalendar businessCalendar;
+    private final AttendanceReportService attendanceReportService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final FeedbackAnalytics feedbackAnalytics;
+    private final ResourceVersions resourceVersions;
+    private final PageLimits pageLimits;
+    private final DashboardSnapshot dashboardSnapshot;
+    private final AvengerDashboardService avengerDashboardService;
+    private final RecentActivityService recentActivityService;
+    private final ReadCaches readCaches;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    // Cacheable but always revalidated: the browser sends If-None-Match and gets a 304 while nothing changed
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     public UserController(final UserRepository userRepository, final PasswordEncoder passwordEncoder,
                          final TransactionService transactionService, final MissionService missionService,
                          final AttendanceService attendanceService, final FeedbackService feedbackService,
-                         final AnnouncementService announcementService, final UserService userService) {
+                         final AnnouncementService announcementService, final UserService userService,
+                         final SearchIndexService searchIndexService, final UsernameIndex usernameIndex,
+                         final BusinessCalendar businessCalendar, final AttendanceReportService attendanceReportService,
+                         final JsonArrayStreamer jsonArrayStreamer, final FeedbackAnalytics feedbackAnalytics,
+                         final ResourceVersions resourceVersions, final PageLimits pageLimits,
+                         final DashboardSnapshot dashboardSnapshot, final AvengerDashboardService avengerDashboardService,
+                         final RecentActivityService recentActivityService, final ReadCaches readCaches) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.transactionService = transactionService;
@@ -83,50 +146,61 @@ public class UserController {
         this.feedbackService = feedbackService;
         this.announcementService = announcementService;
         this.userService = userService;
+        this.searchIndexService = searchIndexService;
+        this.usernameIndex = usernameIndex;
+        this.businessCalendar = businessCalendar;
+        this.attendanceReportService = attendanceReportService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.feedbackAnalytics = feedbackAnalytics;
+        this.resourceVersions = resourceVersions;
+        this.pageLimits = pageLimits;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.avengerDashboardService = avengerDashboardService;
+        this.recentActivityService = recentActivityService;
+        this.readCaches = readCaches;
     }
 
     // --- Common Endpoints ---
 
     @GetMapping("/user/details")
     @PreAuthorize("hasAnyRole('AVENGER', 'ADMIN')")
-    public ResponseEntity<Map<String, String>> getUserDetails(final Authentication authentication) {
+    public ResponseEntity<Map<String, String>> getUserDetails(final Authentication authentication, final WebRequest webRequest) {
         User user = (User) authentication.getPrincipal();
-        Map<String, String> userDetails = new HashMap<>();
-        userDetails.put("id", user.getId().toString());
-        userDetails.put("username", user.getUsername());
-        userDetails.put("role", user.getRole().name());
-        userDetails.put("email", user.getEmail());
-        userDetails.put("isAlive", String.valueOf(user.getAlive()));
-        userDetails.put("balance", String.valueOf(user.getBalance()));
-        // Only include non-sensitive fields
+        String etag = resourceVersions.userDetailsETag(user.getId());
+        if (notModified(webRequest, etag, Resource.USER_DETAILS)) {
+            return null;
+        }
+        Map<String, String> userDetails = userService.getUserDetails(user);
         logger.info("Fetched details for user: {}", user.getUsername());
-        return ResponseEntity.ok(userDetails);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(userDetails);
     }
 
     // --- Admin Endpoints ---
 
     @GetMapping("/admin/avengers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDTO>> getAllAvengers() {
-        List<UserDTO> avengers = userRepository.findByRole(Role.AVENGER).stream()
-                .map(user -> new UserDTO(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getBalance(), user.getAlive()))
-                .collect(Collectors.toList());
-        logger.info("Admin fetched list of {} Avengers.", avengers.size());
-        return ResponseEntity.ok(avengers);
+    public ResponseEntity<?> getAllAvengers(final PageQuery pageQuery, final WebRequest webRequest) {
+        String etag = resourceVersions.rosterETag();
+        if (notModified(webRequest, etag, Resource.AVENGER_ROSTER)) {
+            return null;
+        }
+        return page(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE), pageQuery, userService::getAvengerPage,
+                userService::countAvengers, "Avengers for admin");
     }
 
-    @GetMapping("/admin/dashboard-stats")
+    @GetMapping("/admin/avengers/autocomplete")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
-        long totalAvengers = userRepository.countByRole(Role.AVENGER);
-        long activeMissions = missionService.countMissionsByStatus(MissionStatus.ONGOING);
-        long pendingFeedback = feedbackService.countUnreadFeedback();
-
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime endOfMonth = LocalDateTime.now().with(TemporalAdjusters.lastDayOfMonth()).withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-        double totalPaymentsThisMonth = transactionService.getTotalPaymentsBetween(TransactionType.SALARY, startOfMonth, endOfMonth);
+    public ResponseEntity<List<UsernameSuggestionDTO>> autocompleteAvengers(@RequestParam("prefix") final String prefix,
+                                                                            @RequestParam(value = "limit", defaultValue = "10") final int limit) {
+        // Answered entirely from the in-memory index; no database access per keystroke
+        return ResponseEntity.ok(usernameIndex.complete(prefix, Math.max(1, Math.min(limit, 50))));
+    }
 
-        DashboardStatsDTO stats = new DashboardStatsDTO(totalAvengers, activeMissions, pendingFeedback, totalPaymentsThisMonth);
+    @GetMapping("/admin/dashboard-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardStatsDTO> getDashboardStats(@RequestParam(value = "maxStalenessSeconds", required = false) final Long maxStalenessSeconds) {
+        // Served from memory; only refreshed from the database when older than the optional staleness bound
+        DashboardStatsDTO stats = dashboardSnapshot.getStats(maxStalenessSeconds);
         logger.info("Admin fetched dashboard stats: {}", stats);
         return ResponseEntity.ok(stats);
     }
@@ -149,10 +223,9 @@ public class UserController {
 
     @GetMapping("/admin/payments/history")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TransactionDTO>> getAllPaymentHistory() {
-        List<TransactionDTO> transactions = transactionService.getAllTransactions();
-        logger.info("Admin fetched {} payment records.", transactions.size());
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<?> getAllPaymentHistory(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, transactionService::getTransactionPage,
+                transactionService::countTransactions, "payment records for admin");
     }
 
     @PostMapping("/admin/missions")
@@ -173,10 +246,16 @@ public class UserController {
 
     @GetMapping("/admin/missions")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MissionDTO>> getAllMissions() {
-        List<MissionDTO> missions = missionService.getAllMissions();
-        logger.info("Admin fetched {} missions.", missions.size());
-        return ResponseEntity.ok(missions);
+    public ResponseEntity<?> getAllMissions(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, missionService::getMissionPage,
+                missionService::countMissions, "missions for admin");
+    }
+
+    @GetMapping("/admin/missions/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllMissions() {
+        logger.info("Admin started streaming missions.");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jsonArrayStreamer.stream(missionService::streamAllMissions));
     }
 
     @PostMapping("/admin/attendance/start")
@@ -192,20 +271,187 @@ public class UserController {
         }
     }
 
+    @PostMapping("/admin/attendance/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkMarkAttendance(final Authentication authentication, @Valid @RequestBody final BulkAttendanceRequest request) {
+        User adminUser = (User) authentication.getPrincipal();
+        try {
+            BulkAttendanceResultDTO result = attendanceService.bulkMarkAttendance(request);
+            logger.info("Admin {} bulk-marked attendance for session {}: {} inserted, {} skipped.",
+                    adminUser.getUsername(), request.getSessionId(), result.getInserted(), result.getSkipped());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bulk attendance by admin {} failed: {}", adminUser.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in bulk attendance by admin {}: {}", adminUser.getUsername(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred during bulk attendance entry."));
+        }
+    }
+
+    @PostMapping("/admin/attendance/{sessionId}/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> closeAttendanceSession(@PathVariable final Long sessionId) {
+        try {
+            attendanceService.closeAttendanceSession(sessionId);
+            return ResponseEntity.ok(new ApiResponse(true, "Attendance session closed."));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to close attendance session {}: {}", sessionId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error closing attendance session {}: {}", sessionId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while closing the attendance session."));
+        }
+    }
+
+    @GetMapping("/admin/calendar/holidays")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LocalDate>> getHolidays() {
+        return ResponseEntity.ok(businessCalendar.getHolidays());
+    }
+
+    @PostMapping("/admin/calendar/holidays/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> addHoliday(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date) {
+        if (!businessCalendar.addHoliday(date)) {
+            return ResponseEntity.ok(new ApiResponse(true, date + " is already a holiday."));
+        }
+        logger.info("Admin added holiday {}.", date);
+        return ResponseEntity.ok(new ApiResponse(true, date + " added as a holiday."));
+    }
+
+    @DeleteMapping("/admin/calendar/holidays/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> removeHoliday(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date) {
+        if (!businessCalendar.removeHoliday(date)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, date + " is not a holiday."));
+        }
+        logger.info("Admin removed holiday {}.", date);
+        return ResponseEntity.ok(new ApiResponse(true, date + " removed from holidays."));
+    }
+
     @GetMapping("/admin/attendance/records")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AttendanceRecordDTO>> getAllAttendanceRecords() {
-        List<AttendanceRecordDTO> records = attendanceService.getAllAttendanceRecords();
-        logger.info("Admin fetched {} attendance records.", records.size());
-        return ResponseEntity.ok(records);
+    public ResponseEntity<?> getAllAttendanceRecords(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, attendanceService::getAttendanceRecordPage,
+                attendanceService::countAttendanceRecords, "attendance records for admin");
+    }
+
+    @GetMapping("/admin/attendance/records/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllAttendanceRecords() {
+        logger.info("Admin started streaming attendance records.");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jsonArrayStreamer.stream(attendanceService::streamAllAttendanceRecords));
+    }
+
+    @GetMapping(value = "/admin/attendance/{sessionId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SseEmitter> watchAttendanceSession(@PathVariable final Long sessionId) {
+        try {
+            SseEmitter emitter = attendanceService.subscribeToLiveSession(sessionId);
+            logger.info("Admin subscribed to live attendance for session {}.", sessionId);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Live attendance subscription for session {} rejected: {}", sessionId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/admin/attendance/{sessionId}/roster")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSessionRoster(@PathVariable final Long sessionId) {
+        try {
+            SessionRosterDTO roster = attendanceReportService.getSessionRoster(sessionId);
+            logger.info("Admin fetched roster for session {}: {} present, {} late, {} absent.", sessionId,
+                    roster.getPresent().size(), roster.getLate().size(), roster.getAbsent().size());
+            return ResponseEntity.ok(roster);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to build roster for session {}: {}", sessionId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building roster for session {}: {}", sessionId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while building the roster."));
+        }
+    }
+
+    @GetMapping("/admin/attendance/roster")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSessionRosters(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+                                               @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to) {
+        try {
+            List<SessionRosterDTO> rosters = attendanceReportService.getSessionRosters(from, to);
+            logger.info("Admin fetched {} session rosters between {} and {}.", rosters.size(), from, to);
+            return ResponseEntity.ok(rosters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building rosters between {} and {}: {}", from, to, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while building the rosters."));
+        }
+    }
+
+    @GetMapping("/admin/attendance/matrix/{year}/{month}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAttendanceMatrix(@PathVariable final int year, @PathVariable final int month) {
+        try {
+            AttendanceMatrixDTO matrix = attendanceReportService.getMonthlyMatrix(YearMonth.of(year, month));
+            return ResponseEntity.ok(matrix);
+        } catch (DateTimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building attendance matrix for {}-{}: {}", year, month, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while building the attendance matrix."));
+        }
+    }
+
+    @GetMapping("/admin/attendance/writer-metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AttendanceWriterMetricsDTO> getAttendanceWriterMetrics() {
+        return ResponseEntity.ok(attendanceService.getWriterMetrics());
+    }
+
+    @GetMapping("/admin/conditional-get/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ConditionalGetMetricsDTO>> getConditionalGetMetrics() {
+        return ResponseEntity.ok(resourceVersions.getMetrics());
+    }
+
+    @GetMapping("/admin/caches/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheMetricsDTO>> getCacheMetrics() {
+        return ResponseEntity.ok(readCaches.getMetrics());
     }
 
     @GetMapping("/admin/feedback")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<FeedbackDTO>> getAllFeedback() {
-        List<FeedbackDTO> feedback = feedbackService.getAllFeedback();
-        logger.info("Admin fetched {} feedback items.", feedback.size());
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<?> getAllFeedback(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, feedbackService::getFeedbackPage,
+                feedbackService::countFeedback, "feedback items for admin");
+    }
+
+    @GetMapping("/admin/feedback/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getFeedbackSummaries(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, feedbackService::getFeedbackSummaryPage,
+                feedbackService::countFeedback, "feedback summaries for admin");
+    }
+
+    @GetMapping("/admin/feedback/{feedbackId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getFeedbackDetail(@PathVariable final Long feedbackId) {
+        try {
+            FeedbackDetailDTO feedback = feedbackService.getFeedbackDetail(feedbackId);
+            return ResponseEntity.ok(feedback);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/admin/feedback/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllFeedback() {
+        logger.info("Admin started streaming feedback.");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jsonArrayStreamer.stream(feedbackService::streamAllFeedback));
     }
 
     @PutMapping("/admin/feedback/{feedbackId}/read")
@@ -223,6 +469,42 @@ public class UserController {
         }
     }
 
+    @GetMapping("/admin/feedback/analytics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<FeedbackRollupDTO>> getFeedbackAnalytics(
+            @RequestParam(value = "granularity", defaultValue = "MONTH") final Granularity granularity,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to,
+            @RequestParam(value = "category", required = false) final FeedbackCategory category) {
+        return ResponseEntity.ok(feedbackAnalytics.getRollups(granularity, from, to, category));
+    }
+
+    @PostMapping("/admin/feedback/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> rebuildFeedbackAnalytics() {
+        try {
+            feedbackAnalytics.rebuild();
+            return ResponseEntity.ok(new ApiResponse(true, "Feedback analytics rebuilt."));
+        } catch (Exception e) {
+            logger.error("Error rebuilding feedback analytics: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while rebuilding feedback analytics."));
+        }
+    }
+
+    @PutMapping("/admin/feedback/read")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> markFeedbackAsReadInBulk(@Valid @RequestBody final FeedbackMarkReadRequest request) {
+        try {
+            int updated = feedbackService.markFeedbackAsRead(request);
+            return ResponseEntity.ok(new ApiResponse(true, updated + " feedback items marked as read."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error marking feedback as read in bulk: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred."));
+        }
+    }
+
     @PostMapping("/admin/announcements")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createAnnouncement(final Authentication authentication, @Valid @RequestBody final AnnouncementCreateRequest request) {
@@ -238,10 +520,63 @@ public class UserController {
 
     @GetMapping("/admin/announcements")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AnnouncementDTO>> getAllAnnouncements() {
-        List<AnnouncementDTO> announcements = announcementService.getAllAnnouncements();
-        logger.info("Admin fetched {} announcements.", announcements.size());
-        return ResponseEntity.ok(announcements);
+    public ResponseEntity<?> getAllAnnouncements(final PageQuery pageQuery, final WebRequest webRequest) {
+        String etag = resourceVersions.announcementsETag();
+        if (notModified(webRequest, etag, Resource.ANNOUNCEMENTS)) {
+            return null;
+        }
+        return page(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE), pageQuery, announcementService::getAnnouncementPage,
+                announcementService::countAnnouncements, "announcements for admin");
+    }
+
+    @GetMapping(value = "/admin/announcements/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SseEmitter> watchAnnouncements(@RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+        SseEmitter emitter = announcementService.subscribe(lastEventId);
+        logger.debug("Admin subscribed to announcements (Last-Event-ID: {}).", lastEventId);
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/admin/announcements/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAnnouncementSummaries(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, announcementService::getAnnouncementSummaryPage,
+                announcementService::countAnnouncements, "announcement summaries for admin");
+    }
+
+    @GetMapping("/admin/announcements/{announcementId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAnnouncement(@PathVariable final Long announcementId) {
+        try {
+            return ResponseEntity.ok(announcementService.getAnnouncement(announcementId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/admin/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> search(@RequestParam("q") final String query,
+                                    @RequestParam(value = "type", required = false) final String type,
+                                    @RequestParam(value = "limit", defaultValue = "20") final int limit) {
+        if (query.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, "Search query cannot be empty."));
+        }
+        List<SearchResultDTO> results = searchIndexService.search(query, type, limit);
+        logger.info("Admin search for '{}' (type: {}) returned {} results.", query, type, results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/admin/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> rebuildSearchIndex() {
+        try {
+            searchIndexService.rebuildFromDatabase();
+            return ResponseEntity.ok(new ApiResponse(true, "Search index rebuilt."));
+        } catch (Exception e) {
+            logger.error("Error rebuilding search index: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred while rebuilding the search index."));
+        }
     }
 
     // --- Avenger Endpoints ---
@@ -250,27 +585,54 @@ public class UserController {
     @PreAuthorize("hasRole('AVENGER')")
     public ResponseEntity<Map<String, Object>> getAvengerDashboardStats(final Authentication authentication) {
         User avengerUser = (User) authentication.getPrincipal();
-        long activeMissions = missionService.countActiveMissionsForAvenger(avengerUser);
-        long completedMissions = missionService.countCompletedMissionsForAvenger(avengerUser);
-        YearMonth currentMonth = YearMonth.now();
-        AttendanceStatsDTO attendanceStats = attendanceService.getAttendanceStatsForAvenger(avengerUser, currentMonth);
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("activeMissions", activeMissions);
-        stats.put("completedMissions", completedMissions);
-        stats.put("attendanceRate", attendanceStats.getAttendanceRate());
-        stats.put("currentBalance", avengerUser.getBalance());
+        Map<String, Object> stats = avengerDashboardService.getDashboardStats(avengerUser);
         logger.info("Avenger {} fetched dashboard stats.", avengerUser.getUsername());
         return ResponseEntity.ok(stats);
     }
 
+    // Everything the dashboard shows on load in one request: authenticated once, sections loaded concurrently
+    @GetMapping("/avenger/bootstrap")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<AvengerBootstrapDTO> getAvengerBootstrap(final Authentication authentication, final AvengerBootstrapQuery query) {
+        User avengerUser = (User) authentication.getPrincipal();
+        AvengerBootstrapDTO bootstrap = avengerDashboardService.bootstrap(avengerUser, query);
+        logger.info("Avenger {} fetched dashboard bootstrap ({} sections unavailable).", avengerUser.getUsername(), bootstrap.getUnavailable().size());
+        return ResponseEntity.ok(bootstrap);
+    }
+
+    // Rows created or updated since the client's sync token (from the bootstrap or the previous sync)
+    @GetMapping("/avenger/sync")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<?> syncAvengerDashboard(final Authentication authentication, @RequestParam(value = "token", required = false) final String token) {
+        User avengerUser = (User) authentication.getPrincipal();
+        try {
+            AvengerSyncDTO delta = avengerDashboardService.sync(avengerUser, token);
+            logger.info("Avenger {} synced dashboard (reset: {}).", avengerUser.getUsername(), delta.isReset());
+            return ResponseEntity.ok(delta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, "Invalid sync token."));
+        }
+    }
+
+    // Transactions, attendance, missions, feedback and announcements merged newest first, cursor-paginated across all of them
+    @GetMapping("/avenger/recent-activity")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<?> getMyRecentActivity(final Authentication authentication, final PageQuery pageQuery) {
+        User avengerUser = (User) authentication.getPrincipal();
+        return page(ResponseEntity.ok(), pageQuery, (cursor, limit) -> recentActivityService.getRecentActivity(avengerUser, cursor, limit),
+                () -> recentActivityService.countRecentActivity(avengerUser), "recent activity items for Avenger " + avengerUser.getUsername());
+    }
+
     @GetMapping("/avenger/missions/my")
     @PreAuthorize("hasRole('AVENGER')")
-    public ResponseEntity<List<MissionDTO>> getMyMissions(final Authentication authentication) {
+    public ResponseEntity<?> getMyMissions(final Authentication authentication, final PageQuery pageQuery, final WebRequest webRequest) {
         User avengerUser = (User) authentication.getPrincipal();
-        List<MissionDTO> missions = missionService.getMissionsForAvenger(avengerUser);
-        logger.info("Avenger {} fetched {} missions.", avengerUser.getUsername(), missions.size());
-        return ResponseEntity.ok(missions);
+        String etag = resourceVersions.missionsETag(avengerUser.getId());
+        if (notModified(webRequest, etag, Resource.MY_MISSIONS)) {
+            return null;
+        }
+        return page(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE), pageQuery, (cursor, limit) -> missionService.getMissionsForAvenger(avengerUser, cursor, limit),
+                () -> missionService.countMissionsForAvenger(avengerUser), "missions for Avenger " + avengerUser.getUsername());
     }
 
     @PostMapping("/avenger/attendance/mark")
@@ -288,6 +650,9 @@ public class UserController {
         } catch (IllegalArgumentException e) {
             logger.warn("Avenger {} failed to mark attendance: {}", avengerUser.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("Attendance write for Avenger {} did not complete: {}", avengerUser.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse(false, e.getMessage()));
         } catch (Exception e) {
             logger.error("Error marking attendance for Avenger {}: {}", avengerUser.getUsername(), e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "An unexpected error occurred during attendance marking."));
@@ -296,11 +661,10 @@ public class UserController {
 
     @GetMapping("/avenger/attendance/history")
     @PreAuthorize("hasRole('AVENGER')")
-    public ResponseEntity<List<AttendanceRecordDTO>> getMyAttendanceHistory(final Authentication authentication) {
+    public ResponseEntity<?> getMyAttendanceHistory(final Authentication authentication, final PageQuery pageQuery) {
         User avengerUser = (User) authentication.getPrincipal();
-        List<AttendanceRecordDTO> records = attendanceService.getAttendanceHistoryForAvenger(avengerUser);
-        logger.info("Avenger {} fetched {} attendance records.", avengerUser.getUsername(), records.size());
-        return ResponseEntity.ok(records);
+        return page(ResponseEntity.ok(), pageQuery, (cursor, limit) -> attendanceService.getAttendanceHistoryForAvenger(avengerUser, cursor, limit),
+                () -> attendanceService.countAttendanceForAvenger(avengerUser), "attendance records for Avenger " + avengerUser.getUsername());
     }
 
     @GetMapping("/avenger/attendance/stats/{year}/{month}")
@@ -317,13 +681,21 @@ public class UserController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/avenger/attendance/heatmap/{year}")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<AttendanceHeatmapDTO> getMyAttendanceHeatmap(final Authentication authentication, @PathVariable final int year) {
+        User avengerUser = (User) authentication.getPrincipal();
+        AttendanceHeatmapDTO heatmap = attendanceService.getAttendanceHeatmapForAvenger(avengerUser, year);
+        logger.info("Avenger {} fetched attendance heatmap for {}: {} days present.", avengerUser.getUsername(), year, heatmap.getTotalDaysPresent());
+        return ResponseEntity.ok(heatmap);
+    }
+
     @GetMapping("/avenger/transactions/history")
     @PreAuthorize("hasRole('AVENGER')")
-    public ResponseEntity<List<TransactionDTO>> getMyTransactionHistory(final Authentication authentication) {
+    public ResponseEntity<?> getMyTransactionHistory(final Authentication authentication, final PageQuery pageQuery) {
         User avengerUser = (User) authentication.getPrincipal();
-        List<TransactionDTO> transactions = transactionService.getTransactionsForAvenger(avengerUser);
-        logger.info("Avenger {} fetched {} transaction records.", avengerUser.getUsername(), transactions.size());
-        return ResponseEntity.ok(transactions);
+        return page(ResponseEntity.ok(), pageQuery, (cursor, limit) -> transactionService.getTransactionsForAvenger(avengerUser, cursor, limit),
+                () -> transactionService.countTransactionsForAvenger(avengerUser), "transaction records for Avenger " + avengerUser.getUsername());
     }
 
     @GetMapping("/avenger/earnings/{year}/{month}")
@@ -358,19 +730,46 @@ public class UserController {
 
     @GetMapping("/avenger/feedback/my")
     @PreAuthorize("hasRole('AVENGER')")
-    public ResponseEntity<List<FeedbackDTO>> getMyFeedbackHistory(final Authentication authentication) {
+    public ResponseEntity<?> getMyFeedbackHistory(final Authentication authentication, final PageQuery pageQuery) {
         User avengerUser = (User) authentication.getPrincipal();
-        List<FeedbackDTO> feedback = feedbackService.getFeedbackHistoryForAvenger(avengerUser);
-        logger.info("Avenger {} fetched {} feedback history items.", avengerUser.getUsername(), feedback.size());
-        return ResponseEntity.ok(feedback);
+        return page(ResponseEntity.ok(), pageQuery, (cursor, limit) -> feedbackService.getFeedbackHistoryForAvenger(avengerUser, cursor, limit),
+                () -> feedbackService.countFeedbackForAvenger(avengerUser), "feedback history items for Avenger " + avengerUser.getUsername());
     }
 
     @GetMapping("/avenger/announcements")
     @PreAuthorize("hasAnyRole('AVENGER', 'ADMIN')")
-    public ResponseEntity<List<AnnouncementDTO>> getAllAnnouncementsForAvenger() {
-        List<AnnouncementDTO> announcements = announcementService.getAllAnnouncements();
-        logger.info("Avenger fetched {} announcements.", announcements.size());
-        return ResponseEntity.ok(announcements);
+    public ResponseEntity<?> getAllAnnouncementsForAvenger(final PageQuery pageQuery, final WebRequest webRequest) {
+        String etag = resourceVersions.announcementsETag();
+        if (notModified(webRequest, etag, Resource.ANNOUNCEMENTS)) {
+            return null;
+        }
+        return page(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE), pageQuery, announcementService::getAnnouncementPage,
+                announcementService::countAnnouncements, "announcements for Avenger");
+    }
+
+    @GetMapping(value = "/avenger/announcements/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<SseEmitter> watchAnnouncementsForAvenger(@RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+        SseEmitter emitter = announcementService.subscribe(lastEventId);
+        logger.debug("Avenger subscribed to announcements (Last-Event-ID: {}).", lastEventId);
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/avenger/announcements/summary")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<?> getAnnouncementSummariesForAvenger(final PageQuery pageQuery) {
+        return page(ResponseEntity.ok(), pageQuery, announcementService::getAnnouncementSummaryPage,
+                announcementService::countAnnouncements, "announcement summaries for Avenger");
+    }
+
+    @GetMapping("/avenger/announcements/{announcementId}")
+    @PreAuthorize("hasRole('AVENGER')")
+    public ResponseEntity<?> getAnnouncementForAvenger(@PathVariable final Long announcementId) {
+        try {
+            return ResponseEntity.ok(announcementService.getAnnouncement(announcementId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage()));
+        }
     }
 
     @PutMapping("/avenger/profile")
@@ -412,5 +811,28 @@ public class UserController {
         return password.matches("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
     }
 
-    // For scalability, consider adding pagination to endpoints returning lists.
-}
\ No newline at end of file
+    // One keyset page as a plain JSON array; X-Next-Cursor is set while more rows follow and X-Total-Count on ?count=true
+    private <T> ResponseEntity<?> page(final ResponseEntity.BodyBuilder response, final PageQuery pageQuery,
+                                       final BiFunction<String, Integer, CursorPage<T>> fetch, final LongSupplier total, final String label) {
+        try {
+            CursorPage<T> page = fetch.apply(pageQuery.getCursor(), pageLimits.resolve(pageQuery));
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            if (pageQuery.isCount()) {
+                response.header(TOTAL_COUNT_HEADER, String.valueOf(total.getAsLong()));
+            }
+            logger.info("Fetched {} {}.", page.items().size(), label);
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // Answers 304 (status and ETag already set on the response) when the client's If-None-Match is current
+    private boolean notModified(final WebRequest webRequest, final String etag, final Resource resource) {
+        boolean notModified = webRequest.checkNotModified(etag);
+        resourceVersions.recordResponse(resource, notModified);
+        return notModified;
+    }
+}
@@ -0,0 +1,25 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of an Avenger's recent-activity feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityItemDTO {
+
+    public enum Type {
+        TRANSACTION, ATTENDANCE, MISSION, FEEDBACK, ANNOUNCEMENT
+    }
+
+    private Type type;
+    private Long id; // Id of the source row (the session id for attendance)
+    private String text; // One-line description for the timeline
+    private LocalDateTime occurredAt;
+}
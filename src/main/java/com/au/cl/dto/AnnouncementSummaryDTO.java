@@ -0,0 +1,23 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an announcement in list views: a short preview instead of the full content.
+ * The full announcement is available from the detail endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementSummaryDTO {
+    private Long id;
+    private String title;
+    private String preview; // First 200 characters of the content
+    private Boolean truncated;
+    private String postedByUsername;
+    private LocalDateTime postedAt;
+}
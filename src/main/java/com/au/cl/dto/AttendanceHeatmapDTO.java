@@ -0,0 +1,20 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO for a yearly attendance calendar heatmap.
+ * monthBitmaps[m] has bit (d - 1) set if the Avenger was present on day d of month m + 1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceHeatmapDTO {
+    private int year;
+    private int[] monthBitmaps;
+    private int[] workdayMasks; // Same layout; weekends and club holidays are cleared
+    private int[] daysPresentPerMonth;
+    private int totalDaysPresent;
+}
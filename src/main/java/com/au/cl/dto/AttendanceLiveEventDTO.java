@@ -0,0 +1,22 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pushed to admins watching a live attendance session.
+ * userId, username and markedAt are null for "snapshot" and "closed" events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceLiveEventDTO {
+    private Long sessionId;
+    private Long userId;
+    private String username;
+    private LocalDateTime markedAt;
+    private int markedCount; // Running total for the session
+}
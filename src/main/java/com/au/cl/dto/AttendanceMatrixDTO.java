@@ -0,0 +1,22 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the Avenger x session attendance matrix of one month.
+ * Column i of every row corresponds to sessionIds[i] / sessionStartTimes[i].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMatrixDTO {
+    private String month; // yyyy-MM
+    private List<Long> sessionIds;
+    private List<LocalDateTime> sessionStartTimes;
+    private List<AttendanceMatrixRowDTO> rows;
+}
@@ -0,0 +1,21 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO for one Avenger's row in the monthly attendance matrix.
+ * cells has one character per session: 'P' present, 'L' late, '-' absent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMatrixRowDTO {
+    private Long userId;
+    private String username;
+    private String cells;
+    private int presentCount;
+    private int lateCount;
+    private int absentCount;
+}
@@ -0,0 +1,25 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO exposing batch size and latency metrics of the coalescing attendance writer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceWriterMetricsDTO {
+    private long batches;
+    private long marksWritten;
+    private long marksFailed;
+    private long marksRejected; // Queue full or writer stopped
+    private long marksDuplicate; // Already marked: ignored by the (session_id, user_id) key
+    private int queueDepth;
+    private double averageBatchSize;
+    private long maxBatchSize;
+    private double averageFlushMillis; // Time spent inserting and committing one batch
+    private double maxFlushMillis;
+    private double averageAckMillis; // Enqueue-to-commit latency seen by callers
+}
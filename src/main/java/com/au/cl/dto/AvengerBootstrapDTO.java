@@ -0,0 +1,28 @@
+package com.au.cl.dto;
+
+import com.au.cl.util.CursorPage;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO carrying everything the Avenger dashboard needs on load, in one response.
+ * Each list section is the first page of the matching list endpoint; its nextCursor continues there.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvengerBootstrapDTO {
+    private Map<String, String> user; // Same fields as /api/user/details
+    private Map<String, Object> stats; // Same fields as /api/avenger/dashboard-stats
+    private CursorPage<MissionDTO> missions; // Null if left out (limit 0) or unavailable
+    private CursorPage<AttendanceRecordDTO> attendance;
+    private CursorPage<TransactionDTO> transactions;
+    private CursorPage<FeedbackDTO> feedback;
+    private CursorPage<AnnouncementDTO> announcements;
+    private List<String> unavailable; // Sections and figures that failed or timed out; empty if the response is complete
+    private String syncToken; // Starting point for /api/avenger/sync
+}
@@ -0,0 +1,20 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO binding the per-section row limits of the Avenger dashboard bootstrap.
+ * An absent limit uses the default page size, 0 leaves the section out, and any other value is clamped to the maximum page size.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvengerBootstrapQuery {
+    private Integer missionsLimit;
+    private Integer attendanceLimit;
+    private Integer transactionsLimit;
+    private Integer feedbackLimit;
+    private Integer announcementsLimit;
+}
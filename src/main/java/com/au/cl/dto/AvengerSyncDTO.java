@@ -0,0 +1,28 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO of an Avenger delta sync: the rows created or updated since the client's sync token.
+ * Clients upsert rows by id; a row may be repeated across consecutive syncs. With reset set, the
+ * lists are null and the client reloads them in full, then continues from the returned token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvengerSyncDTO {
+    private String syncToken; // Send back as ?token= on the next sync
+    private boolean reset; // No token was sent, or more changed than a delta is allowed to carry
+    private Map<String, String> user; // Same fields as /api/user/details (balance changes with payments)
+    private List<MissionDTO> missions;
+    private List<AttendanceRecordDTO> attendance;
+    private List<TransactionDTO> transactions;
+    private List<FeedbackDTO> feedback;
+    private List<AnnouncementDTO> announcements;
+    private List<String> unavailable; // Aggregates that failed or timed out; the token is not advanced past them
+}
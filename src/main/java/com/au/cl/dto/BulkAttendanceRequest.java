@@ -0,0 +1,25 @@
+package com.au.cl.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an admin recording attendance for several Avengers at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceRequest {
+    @NotNull(message = "Session ID cannot be null.")
+    private Long sessionId;
+
+    @NotEmpty(message = "At least one user ID is required.")
+    @Size(max = 1000, message = "At most 1000 users can be marked per request.")
+    private List<Long> userIds;
+}
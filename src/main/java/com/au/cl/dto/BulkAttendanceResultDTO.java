@@ -0,0 +1,20 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO reporting the outcome of a bulk attendance entry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceResultDTO {
+    private Long sessionId;
+    private int inserted;
+    private int skipped; // Already marked for the session
+    private List<Long> invalidUserIds; // Not an alive Avenger; nothing was recorded for these
+}
@@ -0,0 +1,26 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO reporting how a service-level read-through cache has been answering since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheMetricsDTO {
+    private String cache;
+    private int size; // Entries currently held
+    private long hits; // Served fresh from memory
+    private long staleHits; // Served stale while a background refresh ran
+    private long misses;
+    private long collapsedMisses; // Misses that waited for another caller's load instead of querying
+    private long loads; // Database reads, foreground and background
+    private long loadFailures;
+    private long backgroundRefreshes;
+    private long evictions; // Dropped to stay within the size bound
+    private long invalidations;
+    private double hitRatio;
+}
@@ -0,0 +1,18 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO reporting how often an ETag-enabled endpoint answered with a 304 instead of a full body.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConditionalGetMetricsDTO {
+    private String resource;
+    private long fullResponses;
+    private long notModifiedResponses; // No query, no serialization, empty body
+    private double notModifiedRatio;
+}
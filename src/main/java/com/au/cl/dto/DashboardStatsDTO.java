@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO to hold aggregated statistics for the admin dashboard overview.
  */
@@ -15,4 +17,5 @@ public class DashboardStatsDTO {
     private long activeMissions;
     private long pendingFeedback;
     private double totalPaymentsThisMonth;
+    private LocalDateTime syncedAt; // When the in-memory figures were last re-read from the database
 }
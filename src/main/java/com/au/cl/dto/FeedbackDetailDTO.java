@@ -0,0 +1,26 @@
+package com.au.cl.dto;
+
+import com.au.cl.model.FeedbackCategory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single feedback item with its full text and every field.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackDetailDTO {
+    private Long id;
+    private String avengerUsername;
+    private FeedbackCategory category;
+    private String subject;
+    private String feedbackText;
+    private Integer rating;
+    private Boolean isAnonymous;
+    private LocalDateTime submittedAt;
+    private Boolean isRead;
+}
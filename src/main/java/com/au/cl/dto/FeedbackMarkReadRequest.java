@@ -0,0 +1,22 @@
+package com.au.cl.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for marking feedback as read in bulk: either specific IDs, or everything submitted before a timestamp.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackMarkReadRequest {
+    @Size(max = 1000, message = "At most 1000 feedback IDs can be marked per request.")
+    private List<Long> feedbackIds;
+
+    private LocalDateTime submittedBefore;
+}
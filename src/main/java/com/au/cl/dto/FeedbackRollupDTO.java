@@ -0,0 +1,24 @@
+package com.au.cl.dto;
+
+import com.au.cl.model.FeedbackCategory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for feedback statistics of one category over one period.
+ * periodStart is the Monday of the week, the first day of the month, or null for all time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRollupDTO {
+    private FeedbackCategory category;
+    private LocalDate periodStart;
+    private long count;
+    private long ratedCount; // Feedback that carried a rating
+    private double averageRating;
+    private long[] ratingHistogram; // Index 0 = 1 star ... index 4 = 5 stars
+}
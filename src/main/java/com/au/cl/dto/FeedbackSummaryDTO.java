@@ -0,0 +1,28 @@
+package com.au.cl.dto;
+
+import com.au.cl.model.FeedbackCategory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a feedback row in list views: a short preview instead of the full text.
+ * The full feedback is available from the detail endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSummaryDTO {
+    private Long id;
+    private String subject;
+    private String preview; // First 200 characters of the feedback text
+    private Boolean truncated;
+    private FeedbackCategory category;
+    private Integer rating;
+    private String avengerUsername;
+    private Boolean isAnonymous;
+    private LocalDateTime submittedAt;
+    private Boolean isRead;
+}
@@ -0,0 +1,18 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO binding the cursor-pagination query parameters shared by every list endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageQuery {
+    private String cursor; // X-Next-Cursor of the previous page; absent for the first page
+    private Integer limit; // Clamped to pagination.max-page-size
+    private boolean unpaged; // Opt-in for clients that want the whole list (still capped at pagination.unpaged-max-size)
+    private boolean count; // Adds X-Total-Count; costs a COUNT query, so only on request
+}
@@ -0,0 +1,19 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one Avenger in a session roster. markedAt is null for absentees.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryDTO {
+    private Long userId;
+    private String username;
+    private LocalDateTime markedAt;
+}
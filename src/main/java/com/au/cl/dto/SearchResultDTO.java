@@ -0,0 +1,18 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO for a single ranked full-text search hit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String type; // MISSION, ANNOUNCEMENT or FEEDBACK
+    private Long id;
+    private String title; // Mission name, announcement title or feedback subject
+    private double score;
+}
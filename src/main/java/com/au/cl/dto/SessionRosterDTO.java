@@ -0,0 +1,26 @@
+package com.au.cl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the roster report of one attendance session: who was on time, late or absent
+ * out of all alive Avengers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionRosterDTO {
+    private Long sessionId;
+    private String attendanceCode;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private int rosterSize;
+    private List<RosterEntryDTO> present; // Marked within the grace period
+    private List<RosterEntryDTO> late;
+    private List<RosterEntryDTO> absent;
+}
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "announcements")
+@Table(name = "announcements", indexes = {
+        @Index(name = "idx_announcements_posted_at", columnList = "posted_at")
+})
 public class Announcement {
 
     @Id
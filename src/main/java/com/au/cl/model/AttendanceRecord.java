@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "attendance_records")
+@Table(name = "attendance_records", indexes = {
+        @Index(name = "idx_attendance_records_user_marked", columnList = "user_id, marked_at"),
+        @Index(name = "idx_attendance_records_user_created", columnList = "user_id, created_at")
+})
 @IdClass(AttendanceRecord.AttendanceRecordId.class) // Specify composite primary key class
 public class AttendanceRecord {
 
@@ -29,6 +32,9 @@ public class AttendanceRecord {
     @Column(name = "marked_at", nullable = false)
     private LocalDateTime markedAt = LocalDateTime.now();
 
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now(); // When the row was written; admin bulk marks are back-dated in markedAt
+
     // Composite Primary Key Class
     @Data
     @NoArgsConstructor
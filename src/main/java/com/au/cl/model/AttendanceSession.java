@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "attendance_sessions")
+@Table(name = "attendance_sessions", indexes = {
+        @Index(name = "idx_attendance_sessions_code", columnList = "attendance_code"),
+        @Index(name = "idx_attendance_sessions_active_end", columnList = "is_active, end_time")
+})
 public class AttendanceSession {
 
     @Id
@@ -22,7 +25,8 @@ public class AttendanceSession {
     @JoinColumn(name = "admin_user_id", nullable = false)
     private User adminUser; // Admin who started the session
 
-    @Column(name = "attendance_code", nullable = false, unique = true, length = 6)
+    // Unique only among active sessions (enforced by AttendanceCodeAllocator), so codes can be recycled
+    @Column(name = "attendance_code", nullable = false, length = 6)
     private String attendanceCode; // The 6-digit code
 
     @Column(name = "start_time", nullable = false)
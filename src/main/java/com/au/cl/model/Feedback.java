@@ -11,7 +11,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        @Index(name = "idx_feedback_is_read_submitted", columnList = "is_read, submitted_at"),
+        @Index(name = "idx_feedback_submitted_at", columnList = "submitted_at"),
+        @Index(name = "idx_feedback_user_submitted", columnList = "user_id, submitted_at"),
+        @Index(name = "idx_feedback_user_updated", columnList = "user_id, updated_at")
+})
 public class Feedback {
 
     @Id
@@ -35,6 +40,9 @@ public class Feedback {
     @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt = LocalDateTime.now();
 
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now(); // Submission, or the last time it was marked as read (delta sync)
+
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false; // For admin to track read status
 
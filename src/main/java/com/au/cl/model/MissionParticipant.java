@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "mission_participants")
+@Table(name = "mission_participants", indexes = {
+        @Index(name = "idx_mission_participants_user_mission", columnList = "user_id, mission_id"),
+        @Index(name = "idx_mission_participants_user_updated", columnList = "user_id, mission_updated_at")
+})
 @IdClass(MissionParticipant.MissionParticipantId.class) // Specify composite primary key class
 public class MissionParticipant {
 
@@ -29,6 +32,11 @@ public class MissionParticipant {
     @Column(name = "joined_at", nullable = false)
     private LocalDateTime joinedAt = LocalDateTime.now();
 
+    // Copy of the mission's updated_at, so a participant's changed missions are a range on (user_id, mission_updated_at)
+    // (delta sync); whatever updates a mission must update its participant rows too
+    @Column(name = "mission_updated_at", nullable = false)
+    private LocalDateTime missionUpdatedAt = LocalDateTime.now();
+
     // Composite Primary Key Class
     @Data
     @NoArgsConstructor
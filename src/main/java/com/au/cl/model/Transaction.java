@@ -11,7 +11,11 @@ import java.time.LocalDateTime; // Use java.time for modern date/time handling
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_date", columnList = "transaction_date"),
+        @Index(name = "idx_transactions_sender_date", columnList = "sender_user_id, transaction_date, id"),
+        @Index(name = "idx_transactions_receiver_date", columnList = "receiver_user_id, transaction_date, id")
+})
 public class Transaction {
 
     @Id
@@ -1,13 +1,39 @@
 package com.au.cl.repository;
 
+import com.au.cl.dto.AnnouncementDTO;
+import com.au.cl.dto.AnnouncementSummaryDTO;
 import com.au.cl.model.Announcement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
-    // Find all announcements ordered by post date descending
-    List<Announcement> findAllByOrderByPostedAtDesc();
+    // Keyset page ordered by post date descending (author fetched in the same query)
+    @EntityGraph(attributePaths = "postedBy")
+    @Query("SELECT a FROM Announcement a WHERE a.postedAt < :beforeDate OR (a.postedAt = :beforeDate AND a.id < :beforeId) " +
+            "ORDER BY a.postedAt DESC, a.id DESC")
+    List<Announcement> findPageNewestFirst(LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    // Announcements posted after a point in time, oldest first (delta sync; announcements are never edited)
+    @EntityGraph(attributePaths = "postedBy")
+    @Query("SELECT a FROM Announcement a WHERE a.postedAt > :since ORDER BY a.postedAt, a.id")
+    List<Announcement> findPostedSince(LocalDateTime since, Pageable pageable);
+
+    // List view: preview truncated in the database, so the full TEXT column never leaves it
+    @Query("SELECT new com.au.cl.dto.AnnouncementSummaryDTO(a.id, a.title, SUBSTRING(a.content, 1, 200), " +
+            "CASE WHEN LENGTH(a.content) > 200 THEN true ELSE false END, p.username, a.postedAt) " +
+            "FROM Announcement a JOIN a.postedBy p WHERE a.postedAt < :beforeDate OR (a.postedAt = :beforeDate AND a.id < :beforeId) " +
+            "ORDER BY a.postedAt DESC, a.id DESC")
+    List<AnnouncementSummaryDTO> findSummaryPageNewestFirst(LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    @Query("SELECT new com.au.cl.dto.AnnouncementDTO(a.id, a.title, a.content, p.username, a.postedAt) " +
+            "FROM Announcement a JOIN a.postedBy p WHERE a.id = :announcementId")
+    Optional<AnnouncementDTO> findDetailById(Long announcementId);
 }
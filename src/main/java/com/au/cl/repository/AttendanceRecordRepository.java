@@ -2,26 +2,69 @@ package com.au.cl.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.au.cl.dto.AttendanceRecordDTO;
 import com.au.cl.model.AttendanceRecord;
 import com.au.cl.model.AttendanceRecord.AttendanceRecordId; // <--- Changed import from LocalDate to LocalDateTime
-import com.au.cl.model.User;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface AttendanceRecordRepository extends JpaRepository<AttendanceRecord, AttendanceRecordId> {
     // Find records for a specific session
     List<AttendanceRecord> findBySessionId(Long sessionId);
 
-    // Find records for a specific user
-    List<AttendanceRecord> findByUserOrderByMarkedAtDesc(User user);
+    // Keyset page of all records in primary key order (session, then user)
+    @EntityGraph(attributePaths = {"session", "user"})
+    @Query("SELECT r FROM AttendanceRecord r WHERE r.session.id > :afterSessionId " +
+            "OR (r.session.id = :afterSessionId AND r.user.id > :afterUserId) ORDER BY r.session.id, r.user.id")
+    List<AttendanceRecord> findPageBySessionAndUser(Long afterSessionId, Long afterUserId, Pageable pageable);
+
+    // Keyset page of a user's records, most recent mark first
+    @EntityGraph(attributePaths = {"session", "user"})
+    @Query("SELECT r FROM AttendanceRecord r WHERE r.user.id = :userId " +
+            "AND (r.markedAt < :beforeMarkedAt OR (r.markedAt = :beforeMarkedAt AND r.session.id < :beforeSessionId)) " +
+            "ORDER BY r.markedAt DESC, r.session.id DESC")
+    List<AttendanceRecord> findPageByUserNewestFirst(Long userId, LocalDateTime beforeMarkedAt, Long beforeSessionId, Pageable pageable);
+
+    // A user's records written after a point in time, oldest first (delta sync)
+    @EntityGraph(attributePaths = {"session", "user"})
+    @Query("SELECT r FROM AttendanceRecord r WHERE r.user.id = :userId AND r.createdAt > :since ORDER BY r.createdAt, r.session.id")
+    List<AttendanceRecord> findCreatedByUserSince(Long userId, LocalDateTime since, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // Ids of the users who have marked a session (used to warm the in-memory code registry)
+    @Query("SELECT r.user.id FROM AttendanceRecord r WHERE r.session.id = :sessionId")
+    List<Long> findUserIdsBySessionId(Long sessionId);
+
+    // Who marked a session and when (one query per roster report)
+    @Query("SELECT r.user.id AS userId, r.markedAt AS markedAt FROM AttendanceRecord r WHERE r.session.id = :sessionId")
+    List<SessionMark> findMarksBySessionId(Long sessionId);
+
+    interface SessionMark {
+        Long getUserId();
+        LocalDateTime getMarkedAt();
+    }
 
-    // Check if a user has already marked attendance for a session
-    boolean existsBySessionIdAndUserId(Long sessionId, Long userId);
+    // Forward-only cursor over all records as DTOs (streamed admin list); must be consumed in a transaction
+    @Query("SELECT new com.au.cl.dto.AttendanceRecordDTO(s.id, s.attendanceCode, u.username, r.markedAt) FROM AttendanceRecord r JOIN r.session s JOIN r.user u ORDER BY s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"), // Integer.MIN_VALUE: MySQL row-by-row streaming
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AttendanceRecordDTO> streamAllAsDto();
 
-    // Count attendance records for a user within a specific month
-    // Changed parameter types from LocalDate to LocalDateTime
-    long countByUserAndMarkedAtBetween(User user, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    // Mark timestamps for one user (used to build the per-month presence bitmaps)
+    @Query("SELECT r.markedAt FROM AttendanceRecord r WHERE r.user.id = :userId")
+    List<LocalDateTime> findMarkedAtByUserId(Long userId);
 }
\ No newline at end of file
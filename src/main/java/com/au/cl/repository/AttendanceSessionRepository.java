@@ -1,17 +1,38 @@
 package com.au.cl.repository;
 
 import com.au.cl.model.AttendanceSession;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface AttendanceSessionRepository extends JpaRepository<AttendanceSession, Long> {
-    // Find active sessions
-    List<AttendanceSession> findByIsActiveTrue();
+    // Find sessions that are flagged active and have not yet reached their end time
+    List<AttendanceSession> findByIsActiveTrueAndEndTimeAfter(LocalDateTime now);
 
-    // Find session by code and active status
-    Optional<AttendanceSession> findByAttendanceCodeAndIsActiveTrue(String attendanceCode);
+    // Sessions started within a time range, oldest first (roster reports)
+    List<AttendanceSession> findByStartTimeBetweenOrderByStartTimeAsc(LocalDateTime from, LocalDateTime to);
+
+    // Deactivate a single session without loading it
+    @Modifying
+    @Transactional
+    @Query("UPDATE AttendanceSession s SET s.isActive = false WHERE s.id = :sessionId AND s.isActive = true")
+    int deactivateById(Long sessionId);
+
+    // Bulk-deactivate every session past its end time (served by the (is_active, end_time) index)
+    @Modifying
+    @Transactional
+    @Query("UPDATE AttendanceSession s SET s.isActive = false WHERE s.isActive = true AND s.endTime < :now")
+    int deactivateExpired(LocalDateTime now);
+
+    // Close a session early: it stops being active and its end time becomes now
+    @Modifying
+    @Transactional
+    @Query("UPDATE AttendanceSession s SET s.isActive = false, s.endTime = :now WHERE s.id = :sessionId AND s.isActive = true")
+    int closeSession(Long sessionId, LocalDateTime now);
 }
@@ -1,20 +1,110 @@
 package com.au.cl.repository;
 
+import com.au.cl.dto.FeedbackDTO;
+import com.au.cl.dto.FeedbackDetailDTO;
+import com.au.cl.dto.FeedbackSummaryDTO;
 import com.au.cl.model.Feedback;
-import com.au.cl.model.User; // Import User
+import com.au.cl.model.FeedbackCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    // Keyset page, newest first, with the author fetched in the same query
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT f FROM Feedback f WHERE f.submittedAt < :beforeDate OR (f.submittedAt = :beforeDate AND f.id < :beforeId) " +
+            "ORDER BY f.submittedAt DESC, f.id DESC")
+    List<Feedback> findPageNewestFirst(LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    // List view: preview truncated in the database, so the full TEXT column never leaves it
+    @Query("SELECT new com.au.cl.dto.FeedbackSummaryDTO(f.id, f.subject, SUBSTRING(f.feedbackText, 1, 200), " +
+            "CASE WHEN LENGTH(f.feedbackText) > 200 THEN true ELSE false END, f.category, f.rating, u.username, " +
+            "f.isAnonymous, f.submittedAt, f.isRead) FROM Feedback f JOIN f.user u " +
+            "WHERE f.submittedAt < :beforeDate OR (f.submittedAt = :beforeDate AND f.id < :beforeId) " +
+            "ORDER BY f.submittedAt DESC, f.id DESC")
+    List<FeedbackSummaryDTO> findSummaryPageNewestFirst(LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    @Query("SELECT new com.au.cl.dto.FeedbackDetailDTO(f.id, u.username, f.category, f.subject, f.feedbackText, f.rating, " +
+            "f.isAnonymous, f.submittedAt, f.isRead) FROM Feedback f JOIN f.user u WHERE f.id = :feedbackId")
+    Optional<FeedbackDetailDTO> findDetailById(Long feedbackId);
+
     // Find all unread feedback (for admin dashboard)
     List<Feedback> findByIsReadFalse();
 
     // Count unread feedback (for dashboard stats)
     long countByIsReadFalse();
 
-    // New: Find feedback submitted by a specific user
-    List<Feedback> findByUserOrderBySubmittedAtDesc(User user);
+    // Mark-as-read without loading the entity; returns 0 if already read or missing
+    @Modifying
+    @Transactional
+    @Query("UPDATE Feedback f SET f.isRead = true, f.updatedAt = :now WHERE f.id = :feedbackId AND f.isRead = false")
+    int markReadById(Long feedbackId, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Feedback f SET f.isRead = true, f.updatedAt = :now WHERE f.id IN :feedbackIds AND f.isRead = false")
+    int markReadByIdIn(Collection<Long> feedbackIds, LocalDateTime now);
+
+    // Authors of the given feedback items (their delta-sync stamps move when the items change)
+    @Query("SELECT DISTINCT f.user.id FROM Feedback f WHERE f.id IN :feedbackIds")
+    List<Long> findUserIdsByIdIn(Collection<Long> feedbackIds);
+
+    // Authors with unread feedback before a point in time (served by the (is_read, submitted_at) index)
+    @Query("SELECT DISTINCT f.user.id FROM Feedback f WHERE f.isRead = false AND f.submittedAt < :before")
+    List<Long> findUnreadUserIdsSubmittedBefore(LocalDateTime before);
+
+    // Clear the inbox of these authors up to a point in time (served by the (is_read, submitted_at) index)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Feedback f SET f.isRead = true, f.updatedAt = :now WHERE f.isRead = false AND f.submittedAt < :before AND f.user.id IN :userIds")
+    int markReadSubmittedBefore(LocalDateTime before, Collection<Long> userIds, LocalDateTime now);
+
+    // Rollup inputs for one id range (parallel analytics rebuild)
+    @Query("SELECT f.id AS id, f.category AS category, f.rating AS rating, f.submittedAt AS submittedAt FROM Feedback f WHERE f.id BETWEEN :fromId AND :toId")
+    List<RollupRow> findRollupRowsByIdBetween(Long fromId, Long toId);
+
+    @Query("SELECT MAX(f.id) FROM Feedback f")
+    Long findMaxId();
+
+    interface RollupRow {
+        Long getId();
+        FeedbackCategory getCategory();
+        Integer getRating();
+        LocalDateTime getSubmittedAt();
+    }
+
+    // Keyset page of the feedback submitted by a specific user, newest first
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT f FROM Feedback f WHERE f.user.id = :userId " +
+            "AND (f.submittedAt < :beforeDate OR (f.submittedAt = :beforeDate AND f.id < :beforeId)) ORDER BY f.submittedAt DESC, f.id DESC")
+    List<Feedback> findPageByUserNewestFirst(Long userId, LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    // A user's feedback submitted or marked read after a point in time, oldest change first (delta sync)
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT f FROM Feedback f WHERE f.user.id = :userId AND f.updatedAt > :since ORDER BY f.updatedAt, f.id")
+    List<Feedback> findChangedByUserSince(Long userId, LocalDateTime since, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // Forward-only cursor over all feedback as DTOs (streamed admin list); must be consumed in a transaction
+    @Query("SELECT new com.au.cl.dto.FeedbackDTO(f.id, u.username, f.feedbackText, f.submittedAt, f.isRead) FROM Feedback f JOIN f.user u ORDER BY f.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"), // Integer.MIN_VALUE: MySQL row-by-row streaming
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FeedbackDTO> streamAllAsDto();
 }
@@ -2,11 +2,19 @@ package com.au.cl.repository;
 
 import com.au.cl.model.Mission;
 import com.au.cl.model.Mission.MissionStatus;
+import com.au.cl.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MissionRepository extends JpaRepository<Mission, Long> {
@@ -16,10 +24,27 @@ public interface MissionRepository extends JpaRepository<Mission, Long> {
     // Count missions by status (for dashboard stats)
     long countByStatus(MissionStatus status);
 
-    // Find missions a specific user is participating in
-    // This requires a join through MissionParticipant
-    @Query("SELECT m FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId ORDER BY m.createdAt DESC")
-    List<Mission> findMissionsByParticipantId(Long userId);
+    // Keyset page of all missions, newest first
+    @EntityGraph(attributePaths = "assignedBy")
+    @Query("SELECT m FROM Mission m WHERE m.id < :beforeId ORDER BY m.id DESC")
+    List<Mission> findPageNewestFirst(Long beforeId, Pageable pageable);
+
+    // Keyset page of the missions a user participates in, newest first; driven by the participant's
+    // (user_id, mission_id) index, so the mission id order comes from the index and needs no sort
+    @EntityGraph(attributePaths = "assignedBy")
+    @Query("SELECT m FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId AND mp.mission.id < :beforeId " +
+            "ORDER BY mp.mission.id DESC")
+    List<Mission> findPageByParticipantIdNewestFirst(Long userId, Long beforeId, Pageable pageable);
+
+    // Missions of a participant created or updated after a point in time, oldest change first (delta sync);
+    // a range on the participant's (user_id, mission_updated_at) index, so it reads only this user's changes
+    @EntityGraph(attributePaths = "assignedBy")
+    @Query("SELECT m FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId AND mp.missionUpdatedAt > :since " +
+            "ORDER BY mp.missionUpdatedAt, m.id")
+    List<Mission> findChangedByParticipantIdSince(Long userId, LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT COUNT(m) FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId")
+    long countByParticipantId(Long userId);
 
     // Count active missions for a specific user
     @Query("SELECT COUNT(m) FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId AND m.status = 'ONGOING'")
@@ -28,4 +53,33 @@ public interface MissionRepository extends JpaRepository<Mission, Long> {
     // Count completed missions for a specific user
     @Query("SELECT COUNT(m) FROM Mission m JOIN m.participants mp WHERE mp.user.id = :userId AND m.status = 'COMPLETED'")
     long countCompletedMissionsByParticipantId(Long userId);
+
+    // Forward-only cursor over every mission joined with its participants, one row per participant
+    // (participant columns are null for missions without any), grouped by mission id
+    @Query("SELECT m.id AS id, m.missionName AS missionName, m.description AS description, m.status AS status, " +
+            "a.username AS assignedByUsername, m.createdAt AS createdAt, m.updatedAt AS updatedAt, " +
+            "u.id AS participantId, u.username AS participantUsername, u.email AS participantEmail, " +
+            "u.role AS participantRole, u.balance AS participantBalance, u.alive AS participantAlive " +
+            "FROM Mission m JOIN m.assignedBy a LEFT JOIN m.participants mp LEFT JOIN mp.user u ORDER BY m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"), // Integer.MIN_VALUE: MySQL row-by-row streaming
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MissionParticipantRow> streamAllWithParticipants();
+
+    interface MissionParticipantRow {
+        Long getId();
+        String getMissionName();
+        String getDescription();
+        MissionStatus getStatus();
+        String getAssignedByUsername();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getParticipantId();
+        String getParticipantUsername();
+        String getParticipantEmail();
+        Role getParticipantRole();
+        Double getParticipantBalance();
+        Boolean getParticipantAlive();
+    }
 }
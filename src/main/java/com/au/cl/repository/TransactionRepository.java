@@ -3,7 +3,10 @@ package com.au.cl.repository;
 import com.au.cl.model.Transaction;
 import com.au.cl.model.Transaction.TransactionType;
 import com.au.cl.model.User; // Import User
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -14,17 +17,49 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     // Find transactions by sender or receiver (for history)
     List<Transaction> findBySenderIdOrReceiverIdOrderByTransactionDateDesc(Long senderId, Long receiverId);
 
-    // Find all transactions ordered by transaction date descending (for admin history)
-    List<Transaction> findAllByOrderByTransactionDateDesc();
-
-    // Find transactions by transaction type within a date range
-    List<Transaction> findByTransactionTypeAndTransactionDateBetween(TransactionType type, LocalDateTime startDate, LocalDateTime endDate);
+    // Keyset page of all transactions, newest first (for admin history)
+    @EntityGraph(attributePaths = {"sender", "receiver"})
+    @Query("SELECT t FROM Transaction t WHERE t.transactionDate < :beforeDate OR (t.transactionDate = :beforeDate AND t.id < :beforeId) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageNewestFirst(LocalDateTime beforeDate, Long beforeId, Pageable pageable);
 
     // Count total payments for a given period and type (for dashboard stats)
     long countByTransactionTypeAndTransactionDateBetween(TransactionType type, LocalDateTime startDate, LocalDateTime endDate);
 
-    // New: Find transactions where the current user is either sender or receiver
-    List<Transaction> findBySenderOrReceiverOrderByTransactionDateDesc(User sender, User receiver);
+    // Sum of amounts of a type in [from, to), computed in the database (dashboard snapshot resync)
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.transactionType = :type AND t.transactionDate >= :from AND t.transactionDate < :to")
+    double sumAmountByTypeInRange(TransactionType type, LocalDateTime from, LocalDateTime to);
+
+    // Keyset page of the transactions a user sent, newest first (served by idx_transactions_sender_date)
+    @EntityGraph(attributePaths = {"sender", "receiver"})
+    @Query("SELECT t FROM Transaction t WHERE t.sender.id = :userId " +
+            "AND (t.transactionDate < :beforeDate OR (t.transactionDate = :beforeDate AND t.id < :beforeId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findSentPageNewestFirst(Long userId, LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    // Keyset page of the transactions a user received, newest first (served by idx_transactions_receiver_date)
+    @EntityGraph(attributePaths = {"sender", "receiver"})
+    @Query("SELECT t FROM Transaction t WHERE t.receiver.id = :userId " +
+            "AND (t.transactionDate < :beforeDate OR (t.transactionDate = :beforeDate AND t.id < :beforeId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findReceivedPageNewestFirst(Long userId, LocalDateTime beforeDate, Long beforeId, Pageable pageable);
+
+    // Transactions a user sent after a point in time, oldest first (delta sync; transactions are never updated)
+    @EntityGraph(attributePaths = {"sender", "receiver"})
+    @Query("SELECT t FROM Transaction t WHERE t.sender.id = :userId AND t.transactionDate > :since ORDER BY t.transactionDate, t.id")
+    List<Transaction> findSentSince(Long userId, LocalDateTime since, Pageable pageable);
+
+    // Transactions a user received after a point in time, oldest first (delta sync)
+    @EntityGraph(attributePaths = {"sender", "receiver"})
+    @Query("SELECT t FROM Transaction t WHERE t.receiver.id = :userId AND t.transactionDate > :since ORDER BY t.transactionDate, t.id")
+    List<Transaction> findReceivedSince(Long userId, LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.sender.id = :userId OR t.receiver.id = :userId")
+    long countForUser(Long userId);
+
+    long countBySenderId(Long senderId);
+
+    long countByReceiverId(Long receiverId);
 
     // New: Find the last transaction for a user (either sender or receiver)
     List<Transaction> findTop1BySenderOrReceiverOrderByTransactionDateDesc(User sender, User receiver);
@@ -3,9 +3,12 @@ package com.au.cl.repository;
 
 import com.au.cl.model.Role;
 import com.au.cl.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +21,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // New methods for dashboard functionality:
     List<User> findByRole(Role role); // To get all Avengers
     long countByRole(Role role); // To count total Avengers for dashboard stats
+
+    // Keyset page of a role's users in id order
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<User> findPageByRole(Role role, Long afterId, Pageable pageable);
+
+    // Alive users of a role as id/username pairs, ordered by id (attendance rosters)
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.role = :role AND u.alive = true ORDER BY u.id")
+    List<UserRef> findAliveRefsByRole(Role role);
+
+    // The subset of the given ids that are alive users of a role (bulk attendance validation)
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids AND u.role = :role AND u.alive = true")
+    List<UserRef> findAliveRefsByRoleAndIdIn(Role role, Collection<Long> ids);
+
+    interface UserRef {
+        Long getId();
+        String getUsername();
+    }
 }
@@ -0,0 +1,135 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.AnnouncementDTO;
+import com.au.cl.util.SseFanout;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes newly posted announcements to every connected dashboard over Server-Sent Events.
+ * Each event's id is this process's publish sequence, not the announcement id: concurrent posts can commit
+ * out of id order, so only the publish order tells exactly what a reconnecting client's {@code Last-Event-ID}
+ * has seen. The most recent announcements are kept in a replay buffer and a resume is served from it; a client
+ * that missed more than the buffer holds, or whose id predates a restart, gets a "reset" event and reloads the list instead.
+ * Idle connections cost an async request and a small queue each, no thread.
+ */
+@Component
+public class AnnouncementLiveFeed {
+
+    private static final String TOPIC = "announcements";
+
+    private final int replaySize;
+    private final ExecutorService deliveryExecutor;
+    private final SseFanout<String> fanout;
+
+    // Prefixes event ids so an id from before a restart is never taken for one of this process's sequences
+    private final String bootEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // In publish order; guarded by this
+    private final ArrayDeque<Published> replayBuffer = new ArrayDeque<>();
+    // Every announcement published with a greater sequence is in the replay buffer; guarded by this
+    private long replayFloor;
+    // Sequence of the last announcement published; guarded by this
+    private long lastSequence;
+
+    private record Published(long sequence, AnnouncementDTO announcement) {
+    }
+
+    public AnnouncementLiveFeed(@Value("${announcements.live.replay-size:100}") int replaySize,
+                                @Value("${announcements.live.delivery-threads:2}") int deliveryThreads,
+                                @Value("${announcements.live.queue-capacity:64}") int queueCapacity,
+                                @Value("${announcements.live.timeout-ms:3600000}") long timeoutMs) {
+        this.replaySize = replaySize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "announcement-live-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fanout = new SseFanout<>("Announcement feed", deliveryExecutor, queueCapacity, timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Subscribes a client to new announcements.
+     * @param lastEventId The {@code Last-Event-ID} sent by a reconnecting client, or null for a fresh connection.
+     * @return The SSE emitter.
+     */
+    public synchronized SseEmitter subscribe(String lastEventId) {
+        List<SseEventBuilder> missed = new ArrayList<>();
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long lastSeenSequence = parseSequence(lastEventId.trim());
+            if (lastSeenSequence < replayFloor || lastSeenSequence > lastSequence) {
+                missed.add(SseEmitter.event().name("reset").data(lastEventId.trim()));
+            } else {
+                for (Published published : replayBuffer) {
+                    if (published.sequence() > lastSeenSequence) {
+                        missed.add(toEvent(published));
+                    }
+                }
+            }
+        }
+        // Under the same lock as publish, so nothing posted meanwhile is missed or delivered twice
+        return fanout.subscribe(TOPIC, missed);
+    }
+
+    /**
+     * Publishes a committed announcement to every subscriber and remembers it for replay. Never blocks on clients.
+     * @param announcement The announcement that was posted.
+     */
+    public synchronized void publish(AnnouncementDTO announcement) {
+        Published published = new Published(++lastSequence, announcement);
+        replayBuffer.addLast(published);
+        while (replayBuffer.size() > replaySize) {
+            replayFloor = replayBuffer.removeFirst().sequence();
+        }
+        fanout.publish(TOPIC, toEvent(published));
+    }
+
+    /**
+     * Sends a comment line to every subscriber, so proxies keep idle connections open and dead clients are noticed.
+     */
+    @Scheduled(fixedDelayString = "${announcements.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        fanout.publish(TOPIC, SseEmitter.event().comment("keepalive"));
+    }
+
+    /**
+     * @return Number of connected clients.
+     */
+    public int subscriberCount() {
+        return fanout.subscriberCount(TOPIC);
+    }
+
+    private SseEventBuilder toEvent(Published published) {
+        return SseEmitter.event().id(bootEpoch + "-" + published.sequence()).name("announcement").data(published.announcement());
+    }
+
+    // -1 for an id from another process or not one of ours, which always resets
+    private long parseSequence(String lastEventId) {
+        String prefix = bootEpoch + "-";
+        if (!lastEventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -2,16 +2,24 @@ package com.au.cl.service;
 
 import com.au.cl.dto.AnnouncementCreateRequest;
 import com.au.cl.dto.AnnouncementDTO;
+import com.au.cl.dto.AnnouncementSummaryDTO;
 import com.au.cl.model.Announcement;
 import com.au.cl.model.User;
 import com.au.cl.repository.AnnouncementRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.ReadCaches;
+import com.au.cl.util.ReadThroughCache;
+import com.au.cl.util.ReadThroughCache.PageKey;
+import com.au.cl.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class AnnouncementService {
@@ -19,9 +27,22 @@ public class AnnouncementService {
     private static final Logger logger = LoggerFactory.getLogger(AnnouncementService.class);
 
     private final AnnouncementRepository announcementRepository;
+    private final SearchIndexService searchIndexService;
+    private final AnnouncementLiveFeed liveFeed;
+    private final ResourceVersions resourceVersions;
 
-    public AnnouncementService(AnnouncementRepository announcementRepository) {
+    // Every dashboard reads the same first pages; posting an announcement clears both caches
+    private final ReadThroughCache<PageKey, CursorPage<AnnouncementDTO>> pages;
+    private final ReadThroughCache<PageKey, CursorPage<AnnouncementSummaryDTO>> summaryPages;
+
+    public AnnouncementService(AnnouncementRepository announcementRepository, SearchIndexService searchIndexService,
+                               AnnouncementLiveFeed liveFeed, ResourceVersions resourceVersions, ReadCaches readCaches) {
         this.announcementRepository = announcementRepository;
+        this.searchIndexService = searchIndexService;
+        this.liveFeed = liveFeed;
+        this.resourceVersions = resourceVersions;
+        this.pages = readCaches.create("announcement pages");
+        this.summaryPages = readCaches.create("announcement summary pages");
     }
 
     /**
@@ -38,18 +59,90 @@ public class AnnouncementService {
         announcement.setPostedAt(LocalDateTime.now());
 
         Announcement savedAnnouncement = announcementRepository.save(announcement);
+        searchIndexService.indexAnnouncement(savedAnnouncement);
+        // Cleared before the version bump, so a request that sees the new ETag cannot be served a cached old page
+        TransactionCallbacks.afterCommit(() -> {
+            pages.invalidateAll();
+            summaryPages.invalidateAll();
+        });
+        resourceVersions.announcementsChanged();
         logger.info("Announcement '{}' posted by admin {}.", savedAnnouncement.getTitle(), adminUser.getUsername());
-        return convertToDto(savedAnnouncement);
+        AnnouncementDTO dto = convertToDto(savedAnnouncement);
+        liveFeed.publish(dto);
+        return dto;
+    }
+
+    /**
+     * Retrieves one page of announcements, ordered by posted date descending.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of AnnouncementDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<AnnouncementDTO> getAnnouncementPage(String cursor, int limit) {
+        return pages.get(new PageKey(cursor, limit), () -> loadAnnouncementPage(cursor, limit));
+    }
+
+    private CursorPage<AnnouncementDTO> loadAnnouncementPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(announcementRepository.findPageNewestFirst(after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, announcement -> Cursor.encode(announcement.getPostedAt(), announcement.getId()), this::convertToDto);
+    }
+
+    /**
+     * Retrieves one page of list-view summaries (title, preview, author, timestamp), newest first.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of AnnouncementSummaryDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<AnnouncementSummaryDTO> getAnnouncementSummaryPage(String cursor, int limit) {
+        return summaryPages.get(new PageKey(cursor, limit), () -> loadAnnouncementSummaryPage(cursor, limit));
+    }
+
+    private CursorPage<AnnouncementSummaryDTO> loadAnnouncementSummaryPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(announcementRepository.findSummaryPageNewestFirst(after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, summary -> Cursor.encode(summary.getPostedAt(), summary.getId()));
     }
 
     /**
-     * Retrieves all announcements, ordered by posted date descending.
-     * @return List of AnnouncementDTOs.
+     * Retrieves the announcements posted after a point in time, oldest first.
+     * @param since Announcements strictly after this instant are returned.
+     * @param limit The maximum number of rows.
+     * @return The new AnnouncementDTOs.
      */
-    public List<AnnouncementDTO> getAllAnnouncements() {
-        return announcementRepository.findAllByOrderByPostedAtDesc().stream()
+    public List<AnnouncementDTO> getAnnouncementsSince(LocalDateTime since, int limit) {
+        return announcementRepository.findPostedSince(since, PageRequest.ofSize(limit)).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * @return Total number of announcements.
+     */
+    public long countAnnouncements() {
+        return announcementRepository.count();
+    }
+
+    /**
+     * Retrieves one announcement with its full content.
+     * @param announcementId The ID of the announcement.
+     * @return The AnnouncementDTO.
+     * @throws IllegalArgumentException if the announcement is not found.
+     */
+    public AnnouncementDTO getAnnouncement(Long announcementId) {
+        return announcementRepository.findDetailById(announcementId)
+                .orElseThrow(() -> new IllegalArgumentException("Announcement not found with ID: " + announcementId));
+    }
+
+    /**
+     * Subscribes a dashboard to newly posted announcements.
+     * @param lastEventId The Last-Event-ID header of a reconnecting client, or null.
+     * @return The SSE emitter.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return liveFeed.subscribe(lastEventId);
     }
 
     /**
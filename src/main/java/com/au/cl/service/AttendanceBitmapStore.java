@@ -0,0 +1,142 @@
+package com.au.cl.service;
+
+import com.au.cl.repository.AttendanceRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user presence bitmaps: one 32-bit int per month, where bit (d - 1) is set if the user
+ * marked attendance on day d. A user's history is loaded from the database on first access
+ * and kept current by {@link #recordMark}, so monthly stats become a popcount. At most
+ * {@code attendance.bitmap.max-users} histories are kept; the least recently read one is evicted past that.
+ */
+@Component
+public class AttendanceBitmapStore {
+
+    private final AttendanceRecordRepository recordRepository;
+
+    private final int maxUsers;
+
+    private final Map<Long, History> historiesByUser = new ConcurrentHashMap<>();
+
+    // A user's monthKey -> day bitmap. Registered before its load starts so marks committed meanwhile are not lost.
+    private static final class History {
+        private final Map<Integer, Integer> months = new ConcurrentHashMap<>();
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private volatile long lastReadAt = System.nanoTime();
+    }
+
+    public AttendanceBitmapStore(AttendanceRecordRepository recordRepository,
+                                 @Value("${attendance.bitmap.max-users:10000}") int maxUsers) {
+        this.recordRepository = recordRepository;
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * @param userId The user id.
+     * @param yearMonth The month.
+     * @return The presence bitmap for that month (bit d-1 set = present on day d).
+     */
+    public int monthBits(long userId, YearMonth yearMonth) {
+        return months(userId).getOrDefault(monthKey(yearMonth), 0);
+    }
+
+    /**
+     * @param userId The user id.
+     * @param year The calendar year.
+     * @return Twelve presence bitmaps, January first.
+     */
+    public int[] yearBits(long userId, int year) {
+        Map<Integer, Integer> months = months(userId);
+        int[] bits = new int[12];
+        for (int month = 1; month <= 12; month++) {
+            bits[month - 1] = months.getOrDefault(monthKey(YearMonth.of(year, month)), 0);
+        }
+        return bits;
+    }
+
+    /**
+     * Records a committed attendance mark. Users whose history is not held are skipped: their
+     * first read will load the mark from the database. A history still loading takes the mark too.
+     * @param userId The user id.
+     * @param date The day of the mark.
+     */
+    public void recordMark(long userId, LocalDate date) {
+        History history = historiesByUser.get(userId);
+        if (history != null) {
+            setDay(history.months, date);
+        }
+    }
+
+    // The query runs outside any map lock; concurrent first reads of the same user wait for one load
+    private Map<Integer, Integer> months(long userId) {
+        History history = historiesByUser.get(userId);
+        if (history == null) {
+            History fresh = new History();
+            history = historiesByUser.putIfAbsent(userId, fresh);
+            if (history == null) {
+                history = fresh;
+                load(userId, fresh);
+                evictPastBound();
+            }
+        }
+        history.lastReadAt = System.nanoTime();
+        try {
+            history.loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return history.months;
+    }
+
+    private void load(long userId, History history) {
+        try {
+            // Merged bit by bit: marks recorded while the query ran are kept
+            for (LocalDateTime markedAt : recordRepository.findMarkedAtByUserId(userId)) {
+                setDay(history.months, markedAt.toLocalDate());
+            }
+            history.loaded.complete(null);
+        } catch (RuntimeException e) {
+            historiesByUser.remove(userId, history);
+            history.loaded.completeExceptionally(e);
+        }
+    }
+
+    // Linear scan: only runs when a new user's history is loaded past the bound, after a database read anyway
+    private void evictPastBound() {
+        while (historiesByUser.size() > maxUsers) {
+            Long oldestUserId = null;
+            long oldestReadAt = 0;
+            for (Map.Entry<Long, History> candidate : historiesByUser.entrySet()) {
+                long readAt = candidate.getValue().lastReadAt;
+                if (oldestUserId == null || readAt - oldestReadAt < 0) {
+                    oldestUserId = candidate.getKey();
+                    oldestReadAt = readAt;
+                }
+            }
+            if (oldestUserId == null) {
+                return;
+            }
+            historiesByUser.remove(oldestUserId);
+        }
+    }
+
+    private static void setDay(Map<Integer, Integer> months, LocalDate date) {
+        months.merge(monthKey(YearMonth.from(date)), 1 << (date.getDayOfMonth() - 1), (a, b) -> a | b);
+    }
+
+    private static int monthKey(YearMonth yearMonth) {
+        return yearMonth.getYear() * 12 + yearMonth.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,125 @@
+package com.au.cl.service;
+
+import com.au.cl.model.AttendanceSession;
+import com.au.cl.repository.AttendanceSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+
+/**
+ * Hands out 6-digit attendance codes that are unique among active sessions.
+ * Free codes live in the prefix {@code pool[0, freeCount)}; allocation picks a random slot
+ * and swaps it past the boundary, release swaps it back, so both are O(1) with no DB probe.
+ */
+@Component
+public class AttendanceCodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceCodeAllocator.class);
+
+    private static final int CODE_SPACE = 1_000_000;
+
+    private final AttendanceSessionRepository sessionRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    private final int[] pool = new int[CODE_SPACE];
+    private final int[] positions = new int[CODE_SPACE]; // positions[code] = index of code in pool
+    private int freeCount = CODE_SPACE;
+
+    public AttendanceCodeAllocator(AttendanceSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+        for (int i = 0; i < CODE_SPACE; i++) {
+            pool[i] = i;
+            positions[i] = i;
+        }
+    }
+
+    /**
+     * Reserves the codes of sessions that are still live in the database.
+     */
+    @PostConstruct
+    public void load() {
+        int reserved = 0;
+        for (AttendanceSession session : sessionRepository.findByIsActiveTrueAndEndTimeAfter(LocalDateTime.now())) {
+            if (reserve(session.getAttendanceCode())) {
+                reserved++;
+            }
+        }
+        logger.info("Attendance code allocator reserved {} codes held by active sessions.", reserved);
+    }
+
+    /**
+     * Allocates a random free code.
+     * @return A 6-digit, zero-padded code.
+     * @throws IllegalStateException if every code is held by an active session.
+     */
+    public synchronized String allocate() {
+        if (freeCount == 0) {
+            throw new IllegalStateException("No attendance codes available: all codes are held by active sessions.");
+        }
+        int code = pool[random.nextInt(freeCount)];
+        moveTo(code, freeCount - 1);
+        freeCount--;
+        return format(code);
+    }
+
+    /**
+     * Returns a code to the free pool. Releasing a code that is already free is a no-op.
+     * @param code The code to release.
+     */
+    public synchronized void release(String code) {
+        int value = parse(code);
+        if (value < 0 || positions[value] < freeCount) {
+            return;
+        }
+        moveTo(value, freeCount);
+        freeCount++;
+    }
+
+    /**
+     * Marks a specific code as in use.
+     * @param code The code to reserve.
+     * @return true if the code was free and is now reserved.
+     */
+    public synchronized boolean reserve(String code) {
+        int value = parse(code);
+        if (value < 0 || positions[value] >= freeCount) {
+            return false;
+        }
+        moveTo(value, freeCount - 1);
+        freeCount--;
+        return true;
+    }
+
+    /**
+     * @return Number of codes currently available.
+     */
+    public synchronized int available() {
+        return freeCount;
+    }
+
+    private void moveTo(int code, int target) {
+        int from = positions[code];
+        int displaced = pool[target];
+        pool[target] = code;
+        positions[code] = target;
+        pool[from] = displaced;
+        positions[displaced] = from;
+    }
+
+    private static String format(int code) {
+        return String.format("%06d", code);
+    }
+
+    private static int parse(String code) {
+        try {
+            int value = Integer.parseInt(code);
+            return value >= 0 && value < CODE_SPACE ? value : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.au.cl.service;
+
+import com.au.cl.model.AttendanceSession;
+import com.au.cl.repository.AttendanceRecordRepository;
+import com.au.cl.repository.AttendanceSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of the currently open attendance sessions, keyed by attendance code.
+ * Each entry carries the set of users who have already marked, so invalid, expired and
+ * duplicate marks are rejected without a database round trip.
+ */
+@Component
+public class AttendanceCodeRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceCodeRegistry.class);
+
+    private final AttendanceSessionRepository sessionRepository;
+    private final AttendanceRecordRepository recordRepository;
+
+    private final Map<String, ActiveSession> sessionsByCode = new ConcurrentHashMap<>();
+
+    /**
+     * An open session as seen by the mark-attendance hot path.
+     */
+    public static final class ActiveSession {
+        private final long sessionId;
+        private final String code;
+        private final LocalDateTime endTime;
+        private final Set<Long> markedUserIds = ConcurrentHashMap.newKeySet();
+
+        ActiveSession(long sessionId, String code, LocalDateTime endTime) {
+            this.sessionId = sessionId;
+            this.code = code;
+            this.endTime = endTime;
+        }
+
+        public long getSessionId() {
+            return sessionId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public boolean isExpired(LocalDateTime now) {
+            return now.isAfter(endTime);
+        }
+
+        /**
+         * Claims the mark for a user.
+         * @return true if this is the user's first mark for the session.
+         */
+        public boolean claim(long userId) {
+            return markedUserIds.add(userId);
+        }
+
+        /**
+         * Releases a claim whose database insert did not go through.
+         */
+        public void release(long userId) {
+            markedUserIds.remove(userId);
+        }
+
+        public int markedCount() {
+            return markedUserIds.size();
+        }
+    }
+
+    public AttendanceCodeRegistry(AttendanceSessionRepository sessionRepository, AttendanceRecordRepository recordRepository) {
+        this.sessionRepository = sessionRepository;
+        this.recordRepository = recordRepository;
+    }
+
+    /**
+     * Rebuilds the registry from the database before the application starts taking requests,
+     * so sessions opened before a restart keep accepting marks.
+     */
+    @PostConstruct
+    public void load() {
+        int loaded = 0;
+        for (AttendanceSession session : sessionRepository.findByIsActiveTrueAndEndTimeAfter(LocalDateTime.now())) {
+            register(session.getId(), session.getAttendanceCode(), session.getEndTime(), recordRepository.findUserIdsBySessionId(session.getId()));
+            loaded++;
+        }
+        logger.info("Attendance code registry loaded {} open sessions.", loaded);
+    }
+
+    /**
+     * Registers a newly opened session.
+     * @param sessionId The session id.
+     * @param code The attendance code.
+     * @param endTime When the code stops being valid.
+     * @param markedUserIds Users who have already marked (empty for a new session).
+     */
+    public void register(long sessionId, String code, LocalDateTime endTime, Collection<Long> markedUserIds) {
+        ActiveSession session = new ActiveSession(sessionId, code, endTime);
+        session.markedUserIds.addAll(markedUserIds);
+        sessionsByCode.put(code, session);
+    }
+
+    /**
+     * @param code The attendance code.
+     * @return The open session for that code, or null if the code is unknown.
+     */
+    public ActiveSession lookup(String code) {
+        return sessionsByCode.get(code);
+    }
+
+    /**
+     * Removes a session from the registry.
+     * @param session The session to remove.
+     * @return true if this call removed it (false if someone else already did).
+     */
+    public boolean remove(ActiveSession session) {
+        return sessionsByCode.remove(session.getCode(), session);
+    }
+
+    /**
+     * @param sessionId The session id.
+     * @return The open session with that id, or null.
+     */
+    public ActiveSession findBySessionId(long sessionId) {
+        for (ActiveSession session : sessionsByCode.values()) {
+            if (session.getSessionId() == sessionId) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the session with the given id, if it is registered.
+     * @param sessionId The session id.
+     * @return The removed session, or null.
+     */
+    public ActiveSession removeBySessionId(long sessionId) {
+        for (ActiveSession session : sessionsByCode.values()) {
+            if (session.getSessionId() == sessionId && remove(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes every session whose end time has passed.
+     * @param now The current time.
+     * @return The sessions removed by this call.
+     */
+    public List<ActiveSession> removeExpired(LocalDateTime now) {
+        List<ActiveSession> expired = new ArrayList<>();
+        for (ActiveSession session : sessionsByCode.values()) {
+            if (session.isExpired(now) && remove(session)) {
+                expired.add(session);
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,85 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.AttendanceLiveEventDTO;
+import com.au.cl.service.AttendanceCodeRegistry.ActiveSession;
+import com.au.cl.util.SseFanout;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes attendance marks of open sessions to admins over Server-Sent Events.
+ * Events are published from the mark path itself; counts come from the in-memory registry, so
+ * nothing here touches the database.
+ */
+@Component
+public class AttendanceLiveFeed {
+
+    private final AttendanceCodeRegistry codeRegistry;
+    private final ExecutorService deliveryExecutor;
+    private final SseFanout<Long> fanout;
+
+    public AttendanceLiveFeed(AttendanceCodeRegistry codeRegistry,
+                              @Value("${attendance.live.delivery-threads:4}") int deliveryThreads,
+                              @Value("${attendance.live.queue-capacity:256}") int queueCapacity,
+                              @Value("${attendance.live.timeout-ms:1800000}") long timeoutMs) {
+        this.codeRegistry = codeRegistry;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "attendance-live-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fanout = new SseFanout<>("Attendance live feed", deliveryExecutor, queueCapacity, timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Subscribes an admin to an open session. The first event is a snapshot of the current count.
+     * @param sessionId The ID of the attendance session.
+     * @return The SSE emitter.
+     * @throws IllegalArgumentException if the session is not open.
+     */
+    public SseEmitter subscribe(long sessionId) {
+        ActiveSession session = codeRegistry.findBySessionId(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("No open attendance session found with ID: " + sessionId);
+        }
+        AttendanceLiveEventDTO snapshot = new AttendanceLiveEventDTO(sessionId, null, null, null, session.markedCount());
+        // Sessions leave the registry before sessionEnded() completes their topic, so the re-check closes the race
+        return fanout.subscribe(sessionId, List.of(SseEmitter.event().name("snapshot").data(snapshot)),
+                () -> codeRegistry.findBySessionId(sessionId) != null);
+    }
+
+    /**
+     * Publishes a committed mark to the session's subscribers.
+     * @param session The session that was marked.
+     * @param userId The Avenger who marked.
+     * @param username The Avenger's username.
+     * @param markedAt The mark timestamp.
+     */
+    public void publishMark(ActiveSession session, long userId, String username, LocalDateTime markedAt) {
+        AttendanceLiveEventDTO event = new AttendanceLiveEventDTO(session.getSessionId(), userId, username, markedAt, session.markedCount());
+        fanout.publish(session.getSessionId(), SseEmitter.event().name("marked").data(event));
+    }
+
+    /**
+     * Sends a final "closed" event and ends every stream of a session that expired or was closed.
+     * @param session The session that ended.
+     */
+    public void sessionEnded(ActiveSession session) {
+        AttendanceLiveEventDTO event = new AttendanceLiveEventDTO(session.getSessionId(), null, null, null, session.markedCount());
+        fanout.complete(session.getSessionId(), SseEmitter.event().name("closed").data(event));
+    }
+}
@@ -0,0 +1,310 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.AttendanceWriterMetricsDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces attendance marks into multi-row inserts.
+ * Callers enqueue a validated mark and block until the batch containing it commits; a single
+ * flusher thread drains the queue every {@code flush-interval-ms} or every {@code max-batch-size} marks.
+ * Rows are written with {@code INSERT IGNORE}, so the (session_id, user_id) key decides whether a mark
+ * is new: duplicates are reported to the caller instead of failing the batch.
+ * Every row of a batch gets the same {@code created_at} stamp, unique to the batch; when the insert count shows
+ * that some rows were ignored, one follow-up SELECT of the batch's users at that stamp tells which rows are ours.
+ */
+@Component
+public class AttendanceMarkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceMarkWriter.class);
+
+    private static final String INSERT_PREFIX = "INSERT IGNORE INTO attendance_records (session_id, user_id, marked_at, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?)";
+    // Served by idx_attendance_records_user_created
+    private static final String INSERTED_PREFIX = "SELECT session_id, user_id FROM attendance_records WHERE created_at = ? AND user_id IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final long ackTimeoutMs;
+    private final BlockingQueue<PendingMark> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+    private LocalDateTime lastBatchStamp = LocalDateTime.MIN; // Flusher thread only
+
+    // Metrics
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder marksWritten = new LongAdder();
+    private final LongAdder marksFailed = new LongAdder();
+    private final LongAdder marksDuplicate = new LongAdder();
+    private final LongAdder marksRejected = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAdder ackNanos = new LongAdder();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private record PendingMark(long sessionId, long userId, LocalDateTime markedAt, long enqueuedAt, CompletableFuture<Boolean> ack) {
+
+        MarkKey key() {
+            return new MarkKey(sessionId, userId);
+        }
+    }
+
+    private record MarkKey(long sessionId, long userId) {
+    }
+
+    public AttendanceMarkWriter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                @Value("${attendance.writer.max-batch-size:500}") int maxBatchSize,
+                                @Value("${attendance.writer.flush-interval-ms:5}") long flushIntervalMs,
+                                @Value("${attendance.writer.queue-capacity:10000}") int queueCapacity,
+                                @Value("${attendance.writer.ack-timeout-ms:10000}") long ackTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "attendance-mark-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Enqueues a mark and waits until the batch containing it has committed.
+     * @param sessionId The attendance session id.
+     * @param userId The Avenger's user id.
+     * @param markedAt The mark timestamp.
+     * @return true if the mark was inserted, false if the user had already marked this session.
+     * @throws IllegalStateException if the queue is full, the write times out or the insert fails.
+     */
+    public boolean write(long sessionId, long userId, LocalDateTime markedAt) {
+        return await(enqueue(sessionId, userId, markedAt));
+    }
+
+    /**
+     * Enqueues a mark without waiting for it.
+     * @param sessionId The attendance session id.
+     * @param userId The Avenger's user id.
+     * @param markedAt The mark timestamp.
+     * @return Completes with true once the mark is inserted, false if the user had already marked this session,
+     *         or exceptionally if the insert failed.
+     * @throws IllegalStateException if the queue is full.
+     */
+    public CompletableFuture<Boolean> enqueue(long sessionId, long userId, LocalDateTime markedAt) {
+        CompletableFuture<Boolean> ack = new CompletableFuture<>();
+        if (!running || !queue.offer(new PendingMark(sessionId, userId, markedAt, System.nanoTime(), ack))) {
+            marksRejected.increment();
+            throw new IllegalStateException("Attendance is busy right now, please try again.");
+        }
+        return ack;
+    }
+
+    /**
+     * Waits up to {@code ack-timeout-ms} for an enqueued mark. A mark that is still pending when the wait
+     * ends stays queued and is written later; the returned future of {@link #enqueue} still completes.
+     * @param ack The future returned by {@link #enqueue}.
+     * @return true if the mark was inserted, false if the user had already marked this session.
+     * @throws IllegalStateException if the insert failed, or the mark is still pending after the timeout.
+     */
+    public boolean await(CompletableFuture<Boolean> ack) {
+        try {
+            return ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to record attendance.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Attendance is still being recorded, check your attendance history shortly.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recording attendance.", e);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingMark> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMark first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Keep collecting until the batch is full or the flush interval has passed
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMark next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: fall through and flush whatever is left
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMark> batch) {
+        long start = System.nanoTime();
+        // The same user twice in one batch (double tap): only the first copy goes to the database
+        Map<MarkKey, PendingMark> unique = new LinkedHashMap<>(batch.size() * 2);
+        List<PendingMark> repeats = new ArrayList<>();
+        for (PendingMark mark : batch) {
+            if (unique.putIfAbsent(mark.key(), mark) != null) {
+                repeats.add(mark);
+            }
+        }
+        List<PendingMark> rows = new ArrayList<>(unique.values());
+        LocalDateTime stamp = nextBatchStamp();
+        Set<MarkKey> inserted = null;
+        RuntimeException failure = null;
+        try {
+            inserted = transactionOperations.execute(status -> {
+                if (insertRows(rows, stamp) == rows.size()) {
+                    return unique.keySet();
+                }
+                // Some rows already existed: the ones carrying this batch's stamp are the ones just written
+                return selectInserted(rows, stamp);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Batched insert of {} attendance marks failed: {}", rows.size(), e.getMessage());
+            failure = e;
+        }
+        // Batch metrics are recorded before any caller is released, so a caller reading them sees its own batch
+        long elapsed = System.nanoTime() - start;
+        batches.increment();
+        flushNanos.add(elapsed);
+        maxBatch.accumulateAndGet(batch.size(), Math::max);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        repeats.forEach(mark -> acknowledge(mark, false));
+        for (PendingMark mark : rows) {
+            if (failure != null) {
+                marksFailed.increment();
+                mark.ack().completeExceptionally(failure);
+            } else {
+                acknowledge(mark, inserted != null && inserted.contains(mark.key()));
+            }
+        }
+    }
+
+    private void acknowledge(PendingMark mark, boolean inserted) {
+        if (inserted) {
+            ackNanos.add(System.nanoTime() - mark.enqueuedAt());
+            marksWritten.increment();
+        } else {
+            marksDuplicate.increment();
+        }
+        mark.ack().complete(inserted);
+    }
+
+    // Strictly increasing, so a row written by an earlier batch never carries the current batch's stamp
+    private LocalDateTime nextBatchStamp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); // DATETIME(6)
+        lastBatchStamp = now.isAfter(lastBatchStamp) ? now : lastBatchStamp.plus(1, ChronoUnit.MICROS);
+        return lastBatchStamp;
+    }
+
+    // Returns the number of rows actually inserted (duplicates are ignored by the database)
+    private int insertRows(List<PendingMark> rows, LocalDateTime stamp) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * 4];
+        for (int i = 0; i < rows.size(); i++) {
+            PendingMark mark = rows.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i * 4] = mark.sessionId();
+            args[i * 4 + 1] = mark.userId();
+            args[i * 4 + 2] = mark.markedAt();
+            args[i * 4 + 3] = stamp;
+        }
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    // The keys of the batch rows that carry its stamp
+    private Set<MarkKey> selectInserted(List<PendingMark> rows, LocalDateTime stamp) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        rows.forEach(mark -> userIds.add(mark.userId()));
+        StringBuilder sql = new StringBuilder(INSERTED_PREFIX.length() + userIds.size() * 3);
+        sql.append(INSERTED_PREFIX);
+        Object[] args = new Object[userIds.size() + 1];
+        args[0] = stamp;
+        int i = 1;
+        for (Long userId : userIds) {
+            sql.append(i > 1 ? ", ?" : "?");
+            args[i++] = userId;
+        }
+        sql.append(')');
+        return new HashSet<>(jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new MarkKey(rs.getLong(1), rs.getLong(2)), args));
+    }
+
+    /**
+     * @return A snapshot of the writer's batch size and latency metrics.
+     */
+    public AttendanceWriterMetricsDTO getMetrics() {
+        long batchCount = batches.sum();
+        long written = marksWritten.sum();
+        long duplicates = marksDuplicate.sum();
+        return new AttendanceWriterMetricsDTO(
+                batchCount,
+                written,
+                marksFailed.sum(),
+                marksRejected.sum(),
+                duplicates,
+                queue.size(),
+                batchCount == 0 ? 0.0 : (double) (written + duplicates + marksFailed.sum()) / batchCount,
+                maxBatch.get(),
+                batchCount == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / batchCount,
+                maxFlushNanos.get() / 1_000_000.0,
+                written == 0 ? 0.0 : ackNanos.sum() / 1_000_000.0 / written);
+    }
+}
@@ -0,0 +1,238 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.AttendanceMatrixDTO;
+import com.au.cl.dto.AttendanceMatrixRowDTO;
+import com.au.cl.dto.RosterEntryDTO;
+import com.au.cl.dto.SessionRosterDTO;
+import com.au.cl.model.AttendanceSession;
+import com.au.cl.model.Role;
+import com.au.cl.repository.AttendanceRecordRepository;
+import com.au.cl.repository.AttendanceRecordRepository.SessionMark;
+import com.au.cl.repository.AttendanceSessionRepository;
+import com.au.cl.repository.UserRepository;
+import com.au.cl.repository.UserRepository.UserRef;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Attendance roster reports. Alive Avengers are mapped to dense bit indexes (ordered by id),
+ * each session's marks are loaded with a single projection query into BitSets, and the
+ * present / late / absent sets fall out of bitset set-differences against the roster.
+ */
+@Service
+public class AttendanceReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceReportService.class);
+
+    private final AttendanceSessionRepository sessionRepository;
+    private final AttendanceRecordRepository recordRepository;
+    private final UserRepository userRepository;
+    private final long lateAfterSeconds;
+    private final ExecutorService reportExecutor;
+
+    /**
+     * Alive Avengers with dense indexes: index i is userIds[i] / usernames[i].
+     */
+    private record Roster(long[] userIds, String[] usernames, Map<Long, Integer> indexById) {
+
+        static Roster of(List<UserRef> users) {
+            long[] ids = new long[users.size()];
+            String[] names = new String[users.size()];
+            Map<Long, Integer> indexById = new HashMap<>(users.size() * 2);
+            for (int i = 0; i < users.size(); i++) {
+                ids[i] = users.get(i).getId();
+                names[i] = users.get(i).getUsername();
+                indexById.put(ids[i], i);
+            }
+            return new Roster(ids, names, indexById);
+        }
+
+        int size() {
+            return userIds.length;
+        }
+
+        BitSet all() {
+            BitSet bits = new BitSet(size());
+            bits.set(0, size());
+            return bits;
+        }
+    }
+
+    /**
+     * Marks of one session over a roster; markedAt is indexed like the roster.
+     */
+    private record SessionMarks(BitSet marked, BitSet late, LocalDateTime[] markedAt) {
+
+        BitSet onTime() {
+            BitSet bits = (BitSet) marked.clone();
+            bits.andNot(late);
+            return bits;
+        }
+
+        BitSet absent(Roster roster) {
+            BitSet bits = roster.all();
+            bits.andNot(marked);
+            return bits;
+        }
+    }
+
+    public AttendanceReportService(AttendanceSessionRepository sessionRepository, AttendanceRecordRepository recordRepository,
+                                   UserRepository userRepository,
+                                   @Value("${attendance.report.late-after-seconds:30}") long lateAfterSeconds,
+                                   @Value("${attendance.report.parallelism:4}") int parallelism) {
+        this.sessionRepository = sessionRepository;
+        this.recordRepository = recordRepository;
+        this.userRepository = userRepository;
+        this.lateAfterSeconds = lateAfterSeconds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.reportExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "attendance-report-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reportExecutor.shutdownNow();
+    }
+
+    /**
+     * Builds the roster report for one session.
+     * @param sessionId The ID of the attendance session.
+     * @return The present, late and absent Avengers of that session.
+     * @throws IllegalArgumentException if the session does not exist.
+     */
+    public SessionRosterDTO getSessionRoster(Long sessionId) {
+        AttendanceSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Attendance session not found with ID: " + sessionId));
+        Roster roster = loadRoster();
+        return toRosterDto(session, roster, loadMarks(session, roster));
+    }
+
+    /**
+     * Builds roster reports for every session started within a date range (inclusive).
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @return One roster report per session, oldest first.
+     * @throws IllegalArgumentException if the range is inverted.
+     */
+    public List<SessionRosterDTO> getSessionRosters(LocalDate from, LocalDate to) {
+        List<AttendanceSession> sessions = findSessions(from, to);
+        Roster roster = loadRoster();
+        List<SessionMarks> marks = loadMarksInParallel(sessions, roster);
+        List<SessionRosterDTO> reports = new ArrayList<>(sessions.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            reports.add(toRosterDto(sessions.get(i), roster, marks.get(i)));
+        }
+        return reports;
+    }
+
+    /**
+     * Builds the Avenger x session matrix for a month. Sessions are loaded in parallel.
+     * @param month The month.
+     * @return The matrix, with one row per alive Avenger and one column per session.
+     */
+    public AttendanceMatrixDTO getMonthlyMatrix(YearMonth month) {
+        List<AttendanceSession> sessions = findSessions(month.atDay(1), month.atEndOfMonth());
+        Roster roster = loadRoster();
+        List<SessionMarks> marks = loadMarksInParallel(sessions, roster);
+
+        List<AttendanceMatrixRowDTO> rows = new ArrayList<>(roster.size());
+        char[] cells = new char[sessions.size()];
+        for (int i = 0; i < roster.size(); i++) {
+            int present = 0;
+            int late = 0;
+            for (int s = 0; s < sessions.size(); s++) {
+                SessionMarks sessionMarks = marks.get(s);
+                if (sessionMarks.late().get(i)) {
+                    cells[s] = 'L';
+                    late++;
+                } else if (sessionMarks.marked().get(i)) {
+                    cells[s] = 'P';
+                    present++;
+                } else {
+                    cells[s] = '-';
+                }
+            }
+            rows.add(new AttendanceMatrixRowDTO(roster.userIds()[i], roster.usernames()[i], new String(cells),
+                    present, late, sessions.size() - present - late));
+        }
+        logger.info("Built attendance matrix for {}: {} Avengers x {} sessions.", month, roster.size(), sessions.size());
+        return new AttendanceMatrixDTO(month.toString(),
+                sessions.stream().map(AttendanceSession::getId).toList(),
+                sessions.stream().map(AttendanceSession::getStartTime).toList(),
+                rows);
+    }
+
+    private List<AttendanceSession> findSessions(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date.");
+        }
+        return sessionRepository.findByStartTimeBetweenOrderByStartTimeAsc(from.atStartOfDay(), to.plusDays(1).atStartOfDay().minusNanos(1));
+    }
+
+    private Roster loadRoster() {
+        return Roster.of(userRepository.findAliveRefsByRole(Role.AVENGER));
+    }
+
+    private List<SessionMarks> loadMarksInParallel(List<AttendanceSession> sessions, Roster roster) {
+        List<CompletableFuture<SessionMarks>> futures = new ArrayList<>(sessions.size());
+        for (AttendanceSession session : sessions) {
+            futures.add(CompletableFuture.supplyAsync(() -> loadMarks(session, roster), reportExecutor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // One query per session; marks by users outside the roster (dead or no longer Avengers) are ignored
+    private SessionMarks loadMarks(AttendanceSession session, Roster roster) {
+        BitSet marked = new BitSet(roster.size());
+        BitSet late = new BitSet(roster.size());
+        LocalDateTime[] markedAt = new LocalDateTime[roster.size()];
+        LocalDateTime lateAfter = session.getStartTime().plusSeconds(lateAfterSeconds);
+        for (SessionMark mark : recordRepository.findMarksBySessionId(session.getId())) {
+            Integer index = roster.indexById().get(mark.getUserId());
+            if (index == null) {
+                continue;
+            }
+            marked.set(index);
+            markedAt[index] = mark.getMarkedAt();
+            if (mark.getMarkedAt().isAfter(lateAfter)) {
+                late.set(index);
+            }
+        }
+        return new SessionMarks(marked, late, markedAt);
+    }
+
+    private SessionRosterDTO toRosterDto(AttendanceSession session, Roster roster, SessionMarks marks) {
+        return new SessionRosterDTO(session.getId(), session.getAttendanceCode(), session.getStartTime(), session.getEndTime(),
+                roster.size(),
+                toEntries(marks.onTime(), roster, marks.markedAt()),
+                toEntries(marks.late(), roster, marks.markedAt()),
+                toEntries(marks.absent(roster), roster, marks.markedAt()));
+    }
+
+    private static List<RosterEntryDTO> toEntries(BitSet bits, Roster roster, LocalDateTime[] markedAt) {
+        List<RosterEntryDTO> entries = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            entries.add(new RosterEntryDTO(roster.userIds()[i], roster.usernames()[i], markedAt[i]));
+        }
+        return entries;
+    }
+}
@@ -1,29 +1,44 @@
 package com.au.cl.service;
 
+import com.au.cl.dto.AttendanceHeatmapDTO;
 import com.au.cl.dto.AttendanceRecordDTO;
 import com.au.cl.dto.AttendanceSessionResponse;
 import com.au.cl.dto.AttendanceStatsDTO;
+import com.au.cl.dto.AttendanceWriterMetricsDTO;
+import com.au.cl.dto.BulkAttendanceRequest;
+import com.au.cl.dto.BulkAttendanceResultDTO;
 import com.au.cl.model.AttendanceRecord;
 import com.au.cl.model.AttendanceSession;
+import com.au.cl.model.Role;
 import com.au.cl.model.User;
 import com.au.cl.repository.AttendanceRecordRepository;
 import com.au.cl.repository.AttendanceSessionRepository;
 import com.au.cl.repository.UserRepository;
+import com.au.cl.repository.UserRepository.UserRef;
+import com.au.cl.service.AttendanceCodeRegistry.ActiveSession;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.TransactionCallbacks;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.DayOfWeek;
-import java.time.LocalDate;
 import java.time.LocalDateTime; // <--- Keep this import
 import java.time.YearMonth;
-import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 public class AttendanceService {
@@ -33,33 +48,45 @@ public class AttendanceService {
     private final AttendanceSessionRepository sessionRepository;
     private final AttendanceRecordRepository recordRepository;
     private final UserRepository userRepository;
+    private final AttendanceCodeRegistry codeRegistry;
+    private final AttendanceCodeAllocator codeAllocator;
+    private final AttendanceMarkWriter markWriter;
+    private final AttendanceBitmapStore bitmapStore;
+    private final BusinessCalendar businessCalendar;
+    private final AttendanceLiveFeed liveFeed;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceVersions resourceVersions;
 
     @Value("${attendance.session.duration.seconds:60}") // Configurable duration for attendance code validity
     private long attendanceSessionDurationSeconds;
 
-    public AttendanceService(AttendanceSessionRepository sessionRepository, AttendanceRecordRepository recordRepository, UserRepository userRepository) {
+    public AttendanceService(AttendanceSessionRepository sessionRepository, AttendanceRecordRepository recordRepository, UserRepository userRepository,
+                             AttendanceCodeRegistry codeRegistry, AttendanceCodeAllocator codeAllocator, AttendanceMarkWriter markWriter,
+                             AttendanceBitmapStore bitmapStore, BusinessCalendar businessCalendar,
+                             AttendanceLiveFeed liveFeed, JdbcTemplate jdbcTemplate, ResourceVersions resourceVersions) {
         this.sessionRepository = sessionRepository;
         this.recordRepository = recordRepository;
         this.userRepository = userRepository;
+        this.codeRegistry = codeRegistry;
+        this.codeAllocator = codeAllocator;
+        this.markWriter = markWriter;
+        this.bitmapStore = bitmapStore;
+        this.businessCalendar = businessCalendar;
+        this.liveFeed = liveFeed;
+        this.jdbcTemplate = jdbcTemplate;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
-     * Starts a new attendance session and generates a unique code.
+     * Starts a new attendance session and generates a code that is unique among active sessions.
      * @param adminUser The admin user initiating the session.
      * @return AttendanceSessionResponse containing the generated code and session details.
      */
     @Transactional
     public AttendanceSessionResponse startAttendanceSession(User adminUser) {
-        String code;
-        boolean uniqueCodeFound = false;
-        Random random = new Random();
-        // Generate a unique 6-digit code
-        do {
-            code = String.format("%06d", random.nextInt(1000000));
-            if (sessionRepository.findByAttendanceCodeAndIsActiveTrue(code).isEmpty()) {
-                uniqueCodeFound = true;
-            }
-        } while (!uniqueCodeFound);
+        // Draw from the free pool of codes not held by any active session
+        String code = codeAllocator.allocate();
+        TransactionCallbacks.afterRollback(() -> codeAllocator.release(code));
 
         LocalDateTime startTime = LocalDateTime.now();
         LocalDateTime endTime = startTime.plusSeconds(attendanceSessionDurationSeconds);
@@ -72,6 +99,8 @@ public class AttendanceService {
         session.setIsActive(true); // Ensure it's active
 
         AttendanceSession savedSession = sessionRepository.save(session);
+        // Only publish the code once the session row is visible to the inserts that reference it
+        TransactionCallbacks.afterCommit(() -> codeRegistry.register(savedSession.getId(), savedSession.getAttendanceCode(), savedSession.getEndTime(), List.of()));
         logger.info("Attendance session started by admin {} with code {}. Valid until {}", adminUser.getUsername(), code, endTime);
 
         return new AttendanceSessionResponse(savedSession.getId(), savedSession.getAttendanceCode(), savedSession.getStartTime(), savedSession.getEndTime(), "Attendance session started successfully.");
@@ -79,81 +108,248 @@ public class AttendanceService {
 
     /**
      * Marks attendance for an Avenger using a given code.
+     * The code, expiry and duplicate checks run against the in-memory registry; the only
+     * database work for a valid mark is its row in a coalesced multi-row insert-if-absent,
+     * where the (session_id, user_id) key catches any duplicate the registry missed.
      * @param avengerUser The Avenger user marking attendance.
      * @param attendanceCode The code provided by the Avenger.
      * @throws IllegalArgumentException if code is invalid/expired or attendance already marked.
+     * @throws IllegalStateException if the mark could not be written (writer busy or insert failed), or is still
+     *         pending after the writer's timeout; a pending mark keeps its claim and is completed when it commits.
      */
-    @Transactional
     public void markAttendance(User avengerUser, String attendanceCode) {
-        AttendanceSession activeSession = sessionRepository.findByAttendanceCodeAndIsActiveTrue(attendanceCode)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired attendance code."));
+        ActiveSession activeSession = codeRegistry.lookup(attendanceCode);
+        if (activeSession == null) {
+            throw new IllegalArgumentException("Invalid or expired attendance code.");
+        }
 
         // Check if session is still active based on time
-        if (LocalDateTime.now().isAfter(activeSession.getEndTime())) {
-            activeSession.setIsActive(false); // Mark as inactive if expired
-            sessionRepository.save(activeSession);
+        LocalDateTime now = LocalDateTime.now();
+        if (activeSession.isExpired(now)) {
+            // Only the first caller to see the expiry pays for the deactivation
+            if (codeRegistry.remove(activeSession)) {
+                sessionRepository.deactivateById(activeSession.getSessionId());
+                codeAllocator.release(activeSession.getCode());
+                liveFeed.sessionEnded(activeSession);
+            }
             throw new IllegalArgumentException("Attendance session has expired.");
         }
 
         // Check if Avenger has already marked attendance for this session
-        if (recordRepository.existsBySessionIdAndUserId(activeSession.getId(), avengerUser.getId())) {
+        if (!activeSession.claim(avengerUser.getId())) {
             throw new IllegalArgumentException("You have already marked attendance for this session.");
         }
 
-        AttendanceRecord record = new AttendanceRecord();
-        record.setSession(activeSession);
-        record.setUser(avengerUser);
-        record.setMarkedAt(LocalDateTime.now());
+        CompletableFuture<Boolean> outcome;
+        try {
+            outcome = markWriter.enqueue(activeSession.getSessionId(), avengerUser.getId(), now);
+        } catch (RuntimeException e) {
+            activeSession.release(avengerUser.getId());
+            throw e;
+        }
+        boolean inserted;
+        try {
+            inserted = markWriter.await(outcome);
+        } catch (RuntimeException e) {
+            if (outcome.isCompletedExceptionally()) {
+                activeSession.release(avengerUser.getId()); // The insert failed: the Avenger may try again
+            } else {
+                // Still queued and usually written later: keep the claim, so a retry is not mistaken for the first
+                // mark, and finish the mark from the writer once its batch commits
+                outcome.whenComplete((lateInserted, failure) -> {
+                    if (failure != null) {
+                        activeSession.release(avengerUser.getId());
+                    } else if (lateInserted) {
+                        markRecorded(activeSession, avengerUser, attendanceCode, now);
+                    }
+                });
+            }
+            throw e;
+        }
+        if (!inserted) {
+            // The row was already in the table (e.g. written before the registry was loaded); the claim stays
+            throw new IllegalArgumentException("You have already marked attendance for this session.");
+        }
+        markRecorded(activeSession, avengerUser, attendanceCode, now);
+    }
 
-        recordRepository.save(record);
+    // Everything that follows a committed mark: stats, the delta-sync stamp and the admins' live feed
+    private void markRecorded(ActiveSession activeSession, User avengerUser, String attendanceCode, LocalDateTime markedAt) {
+        bitmapStore.recordMark(avengerUser.getId(), markedAt.toLocalDate());
+        resourceVersions.attendanceChanged(List.of(avengerUser.getId()));
+        liveFeed.publishMark(activeSession, avengerUser.getId(), avengerUser.getUsername(), markedAt);
         logger.info("Avenger {} marked attendance for session code {}", avengerUser.getUsername(), attendanceCode);
     }
 
     /**
-     * Retrieves all attendance records (for admin).
-     * @return List of AttendanceRecordDTOs.
+     * Records attendance for several Avengers at once (admin fallback when marking by code is not possible).
+     * Ids are validated with one query, users who already marked the session are skipped, and the rest
+     * are inserted as one JDBC batch. Entries are stamped with the session's start time, so they count
+     * as on time and fall on the session's day.
+     * @param request The session id and the Avengers to mark.
+     * @return Inserted and skipped counts, plus ids that are not alive Avengers.
+     * @throws IllegalArgumentException if the session does not exist.
      */
-    public List<AttendanceRecordDTO> getAllAttendanceRecords() {
-        return recordRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public BulkAttendanceResultDTO bulkMarkAttendance(BulkAttendanceRequest request) {
+        AttendanceSession session = sessionRepository.findById(request.getSessionId())
+                .orElseThrow(() -> new IllegalArgumentException("Attendance session not found with ID: " + request.getSessionId()));
+
+        Set<Long> requested = new LinkedHashSet<>(request.getUserIds());
+        Map<Long, String> usernames = new HashMap<>();
+        for (UserRef user : userRepository.findAliveRefsByRoleAndIdIn(Role.AVENGER, requested)) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        List<Long> invalid = requested.stream().filter(id -> !usernames.containsKey(id)).toList();
+
+        Set<Long> alreadyMarked = new HashSet<>(recordRepository.findUserIdsBySessionId(session.getId()));
+        List<Long> toInsert = requested.stream().filter(usernames::containsKey).filter(id -> !alreadyMarked.contains(id)).toList();
+
+        LocalDateTime markedAt = session.getStartTime();
+        LocalDateTime createdAt = LocalDateTime.now();
+        // INSERT IGNORE: a mark that lands between the check above and this batch is skipped, not an error
+        int[] counts = toInsert.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate("INSERT IGNORE INTO attendance_records (session_id, user_id, marked_at, created_at) VALUES (?, ?, ?, ?)",
+                toInsert, toInsert.size(), (ps, userId) -> {
+                    ps.setLong(1, session.getId());
+                    ps.setLong(2, userId);
+                    ps.setObject(3, markedAt);
+                    ps.setObject(4, createdAt);
+                })[0];
+        List<Long> inserted = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) { // 1, or SUCCESS_NO_INFO when the driver rewrites the batch
+                inserted.add(toInsert.get(i));
+            }
+        }
+
+        if (!inserted.isEmpty()) {
+            resourceVersions.attendanceChanged(inserted);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            ActiveSession activeSession = codeRegistry.findBySessionId(session.getId());
+            for (Long userId : inserted) {
+                bitmapStore.recordMark(userId, markedAt.toLocalDate());
+                if (activeSession != null && activeSession.claim(userId)) {
+                    liveFeed.publishMark(activeSession, userId, usernames.get(userId), markedAt);
+                }
+            }
+        });
+        return new BulkAttendanceResultDTO(session.getId(), inserted.size(), requested.size() - invalid.size() - inserted.size(), invalid);
+    }
+
+    /**
+     * Closes an attendance session before its code expires.
+     * @param sessionId The ID of the session to close.
+     * @throws IllegalArgumentException if there is no active session with that ID.
+     */
+    public void closeAttendanceSession(Long sessionId) {
+        // Stop accepting marks first, then persist the close
+        ActiveSession activeSession = codeRegistry.removeBySessionId(sessionId);
+        int updated = sessionRepository.closeSession(sessionId, LocalDateTime.now());
+        if (activeSession != null) {
+            codeAllocator.release(activeSession.getCode());
+            liveFeed.sessionEnded(activeSession);
+        }
+        if (updated == 0) {
+            throw new IllegalArgumentException("No active attendance session found with ID: " + sessionId);
+        }
+        logger.info("Attendance session {} closed early.", sessionId);
+    }
+
+    /**
+     * Opens a live feed of marks for an open session.
+     * @param sessionId The ID of the session to watch.
+     * @return An SSE emitter that receives a "snapshot" event, one "marked" event per mark and a final "closed" event.
+     * @throws IllegalArgumentException if the session is not open.
+     */
+    public SseEmitter subscribeToLiveSession(Long sessionId) {
+        return liveFeed.subscribe(sessionId);
+    }
+
+    /**
+     * @return Batch size and latency metrics of the coalescing attendance writer.
+     */
+    public AttendanceWriterMetricsDTO getWriterMetrics() {
+        return markWriter.getMetrics();
     }
 
     /**
-     * Retrieves attendance history for a specific Avenger.
+     * Retrieves one page of attendance records, ordered by session and then user (for admin).
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of AttendanceRecordDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<AttendanceRecordDTO> getAttendanceRecordPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, 0L, 0L);
+        return CursorPage.of(recordRepository.findPageBySessionAndUser(after.id(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, record -> Cursor.encode(record.getSession().getId(), record.getUser().getId()), this::convertToDto);
+    }
+
+    /**
+     * @return Total number of attendance records.
+     */
+    public long countAttendanceRecords() {
+        return recordRepository.count();
+    }
+
+    /**
+     * Streams all attendance records straight from a database cursor (for large admin exports).
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of AttendanceRecordDTOs, ordered by session.
+     */
+    public Stream<AttendanceRecordDTO> streamAllAttendanceRecords() {
+        return recordRepository.streamAllAsDto();
+    }
+
+    /**
+     * Retrieves one page of attendance history for a specific Avenger, most recent first.
      * @param avengerUser The Avenger user.
-     * @return List of AttendanceRecordDTOs for the given Avenger.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of AttendanceRecordDTOs for the given Avenger.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<AttendanceRecordDTO> getAttendanceHistoryForAvenger(User avengerUser) {
-        return recordRepository.findByUserOrderByMarkedAtDesc(avengerUser).stream()
+    public CursorPage<AttendanceRecordDTO> getAttendanceHistoryForAvenger(User avengerUser, String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(recordRepository.findPageByUserNewestFirst(avengerUser.getId(), after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, record -> Cursor.encode(record.getMarkedAt(), record.getSession().getId()), this::convertToDto);
+    }
+
+    /**
+     * Retrieves an Avenger's attendance records written after a point in time, oldest first.
+     * @param avengerUser The Avenger user.
+     * @param since Records written strictly after this instant are returned.
+     * @param limit The maximum number of rows.
+     * @return The new AttendanceRecordDTOs.
+     */
+    public List<AttendanceRecordDTO> getAttendanceCreatedSince(User avengerUser, LocalDateTime since, int limit) {
+        return recordRepository.findCreatedByUserSince(avengerUser.getId(), since, PageRequest.ofSize(limit)).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return Number of attendance records of the Avenger.
+     */
+    public long countAttendanceForAvenger(User avengerUser) {
+        return recordRepository.countByUserId(avengerUser.getId());
     }
 
     /**
      * Calculates attendance statistics for a specific Avenger for a given month.
+     * Presence comes from the in-memory day bitmaps, so several marks on one day count once
+     * and days present can never exceed the month's workdays (weekends and club holidays excluded).
      * @param avengerUser The Avenger user.
      * @param yearMonth The YearMonth for which to calculate stats.
      * @return A map containing "daysPresent", "daysAbsent", "attendanceRate".
      */
     public AttendanceStatsDTO getAttendanceStatsForAvenger(User avengerUser, YearMonth yearMonth) {
-        // Line 150 refers to this method call, and specifically the parameters passed to countByUserAndMarkedAtBetween
-        // Changed startOfMonth and endOfMonth from LocalDate to LocalDateTime
-        LocalDateTime startOfMonth = yearMonth.atDay(1).atStartOfDay(); // Correct: 2025-07-01T00:00:00
-        LocalDateTime endOfMonth = yearMonth.atEndOfMonth().atTime(23, 59, 59, 999_999_999); // Correct: 2025-07-31T23:59:59.999999999
-
-        // Count actual workdays in the month (excluding weekends)
-        long totalWorkDaysInMonth = IntStream.rangeClosed(1, yearMonth.lengthOfMonth()) // Use yearMonth.lengthOfMonth() for clarity
-                .mapToObj(day -> LocalDate.of(yearMonth.getYear(), yearMonth.getMonth(), day))
-                .filter(date -> date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY)
-                .count();
-
-        // Count days present from records for the given month
-        // Now passing LocalDateTime objects, which will match the repository method
-        long daysPresent = recordRepository.countByUserAndMarkedAtBetween(avengerUser, startOfMonth, endOfMonth);
-
+        int workdayMask = businessCalendar.workdayMask(yearMonth);
+        long totalWorkDaysInMonth = Integer.bitCount(workdayMask);
+        long daysPresent = Integer.bitCount(bitmapStore.monthBits(avengerUser.getId(), yearMonth) & workdayMask);
         long daysAbsent = totalWorkDaysInMonth - daysPresent;
-        if (daysAbsent < 0) daysAbsent = 0; // Should not happen if logic is correct
 
         double attendanceRate = 0.0;
         if (totalWorkDaysInMonth > 0) {
@@ -163,6 +359,25 @@ public class AttendanceService {
         return new AttendanceStatsDTO(daysPresent, daysAbsent, attendanceRate);
     }
 
+    /**
+     * Builds a yearly calendar heatmap for an Avenger from the same day bitmaps used for stats.
+     * @param avengerUser The Avenger user.
+     * @param year The calendar year.
+     * @return The heatmap for that year.
+     */
+    public AttendanceHeatmapDTO getAttendanceHeatmapForAvenger(User avengerUser, int year) {
+        int[] monthBits = bitmapStore.yearBits(avengerUser.getId(), year);
+        int[] workdayMasks = new int[12];
+        int[] daysPerMonth = new int[12];
+        int total = 0;
+        for (int i = 0; i < 12; i++) {
+            workdayMasks[i] = businessCalendar.workdayMask(YearMonth.of(year, i + 1));
+            daysPerMonth[i] = Integer.bitCount(monthBits[i]);
+            total += daysPerMonth[i];
+        }
+        return new AttendanceHeatmapDTO(year, monthBits, workdayMasks, daysPerMonth, total);
+    }
+
     /**
      * Converts an AttendanceRecord entity to an AttendanceRecordDTO.
      * @param record The AttendanceRecord entity.
@@ -0,0 +1,52 @@
+package com.au.cl.service;
+
+import com.au.cl.repository.AttendanceSessionRepository;
+import com.au.cl.service.AttendanceCodeRegistry.ActiveSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically deactivates attendance sessions whose end time has passed, so that
+ * "active" session queries only ever see genuinely live sessions.
+ */
+@Component
+public class AttendanceSessionSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceSessionSweeper.class);
+
+    private final AttendanceSessionRepository sessionRepository;
+    private final AttendanceCodeRegistry codeRegistry;
+    private final AttendanceCodeAllocator codeAllocator;
+    private final AttendanceLiveFeed liveFeed;
+
+    public AttendanceSessionSweeper(AttendanceSessionRepository sessionRepository, AttendanceCodeRegistry codeRegistry,
+                                    AttendanceCodeAllocator codeAllocator, AttendanceLiveFeed liveFeed) {
+        this.sessionRepository = sessionRepository;
+        this.codeRegistry = codeRegistry;
+        this.codeAllocator = codeAllocator;
+        this.liveFeed = liveFeed;
+    }
+
+    /**
+     * Expires sessions in memory and in the database with one bulk UPDATE, then recycles their codes.
+     */
+    @Scheduled(fixedDelayString = "${attendance.session.sweep-interval-ms:10000}")
+    public void sweepExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActiveSession> expired = codeRegistry.removeExpired(now);
+        int deactivated = sessionRepository.deactivateExpired(now);
+        // Recycle codes only after the rows are inactive
+        expired.forEach(session -> {
+            codeAllocator.release(session.getCode());
+            liveFeed.sessionEnded(session);
+        });
+        if (deactivated > 0) {
+            logger.info("Deactivated {} expired attendance sessions.", deactivated);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.AttendanceStatsDTO;
+import com.au.cl.dto.AvengerBootstrapDTO;
+import com.au.cl.dto.AvengerBootstrapQuery;
+import com.au.cl.dto.AvengerSyncDTO;
+import com.au.cl.dto.PageQuery;
+import com.au.cl.model.User;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.PageLimits;
+import com.au.cl.util.QueryFanOut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Assembles the Avenger dashboard: the overview stats on their own, every section of the
+ * dashboard at once for the bootstrap request, or only what changed since a sync token.
+ * Independent reads run concurrently through {@link QueryFanOut}; a read that fails or times out
+ * leaves its figure or section null.
+ * <p>
+ * A sync token carries the Avenger's {@link ResourceVersions#changeStamp(long)} and the server time it was issued at.
+ * An unchanged stamp answers without any query; otherwise each aggregate is read from its indexed
+ * created/updated timestamp, starting an overlap window before the token's time so that rows stamped
+ * before the token but committed after it are not missed.
+ */
+@Service
+public class AvengerDashboardService {
+
+    private final UserService userService;
+    private final MissionService missionService;
+    private final AttendanceService attendanceService;
+    private final TransactionService transactionService;
+    private final FeedbackService feedbackService;
+    private final AnnouncementService announcementService;
+    private final QueryFanOut queryFanOut;
+    private final PageLimits pageLimits;
+    private final ResourceVersions resourceVersions;
+    private final long syncOverlapSeconds;
+    private final int syncMaxChanges;
+
+    /**
+     * The overview figures submitted to a batch.
+     */
+    private record StatsCalls(QueryFanOut.Call<Long> activeMissions, QueryFanOut.Call<Long> completedMissions,
+                              QueryFanOut.Call<AttendanceStatsDTO> attendanceStats) {
+
+        Map<String, Object> toMap(User avengerUser) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("activeMissions", activeMissions.get());
+            stats.put("completedMissions", completedMissions.get());
+            stats.put("attendanceRate", attendanceStats.failed() ? null : attendanceStats.get().getAttendanceRate());
+            stats.put("currentBalance", avengerUser.getBalance());
+            return stats;
+        }
+    }
+
+    public AvengerDashboardService(UserService userService, MissionService missionService, AttendanceService attendanceService,
+                                   TransactionService transactionService, FeedbackService feedbackService,
+                                   AnnouncementService announcementService, QueryFanOut queryFanOut, PageLimits pageLimits,
+                                   ResourceVersions resourceVersions,
+                                   @Value("${sync.overlap-seconds:120}") long syncOverlapSeconds,
+                                   @Value("${sync.max-changes:500}") int syncMaxChanges) {
+        this.userService = userService;
+        this.missionService = missionService;
+        this.attendanceService = attendanceService;
+        this.transactionService = transactionService;
+        this.feedbackService = feedbackService;
+        this.announcementService = announcementService;
+        this.queryFanOut = queryFanOut;
+        this.pageLimits = pageLimits;
+        this.resourceVersions = resourceVersions;
+        this.syncOverlapSeconds = syncOverlapSeconds;
+        this.syncMaxChanges = syncMaxChanges;
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return The overview figures; figures that could not be loaded are null and listed under "unavailable".
+     */
+    public Map<String, Object> getDashboardStats(User avengerUser) {
+        QueryFanOut.Batch batch = queryFanOut.batch("avenger dashboard stats");
+        StatsCalls statsCalls = submitStats(batch, avengerUser);
+        List<String> unavailable = batch.await();
+        Map<String, Object> stats = statsCalls.toMap(avengerUser);
+        if (!unavailable.isEmpty()) {
+            stats.put("unavailable", unavailable);
+        }
+        return stats;
+    }
+
+    /**
+     * Loads every dashboard section concurrently, for a single request on dashboard load.
+     * @param avengerUser The authenticated Avenger.
+     * @param query Per-section row limits.
+     * @return User details, overview stats and the first page of each list section.
+     */
+    public AvengerBootstrapDTO bootstrap(User avengerUser, AvengerBootstrapQuery query) {
+        String syncToken = issueSyncToken(avengerUser); // Before the reads, so the first sync covers anything they missed
+        QueryFanOut.Batch batch = queryFanOut.batch("avenger bootstrap");
+        StatsCalls statsCalls = submitStats(batch, avengerUser);
+        var missions = submitSection(batch, "missions", query.getMissionsLimit(),
+                limit -> missionService.getMissionsForAvenger(avengerUser, null, limit));
+        var attendance = submitSection(batch, "attendance", query.getAttendanceLimit(),
+                limit -> attendanceService.getAttendanceHistoryForAvenger(avengerUser, null, limit));
+        var transactions = submitSection(batch, "transactions", query.getTransactionsLimit(),
+                limit -> transactionService.getTransactionsForAvenger(avengerUser, null, limit));
+        var feedback = submitSection(batch, "feedback", query.getFeedbackLimit(),
+                limit -> feedbackService.getFeedbackHistoryForAvenger(avengerUser, null, limit));
+        var announcements = submitSection(batch, "announcements", query.getAnnouncementsLimit(),
+                limit -> announcementService.getAnnouncementPage(null, limit));
+        List<String> unavailable = batch.await();
+
+        return new AvengerBootstrapDTO(userService.getUserDetails(avengerUser), statsCalls.toMap(avengerUser),
+                valueOf(missions), valueOf(attendance), valueOf(transactions), valueOf(feedback), valueOf(announcements), unavailable, syncToken);
+    }
+
+    /**
+     * Returns what changed for an Avenger since a sync token: missions created or updated, attendance
+     * marks, transactions, feedback submitted or marked read, and announcements.
+     * @param avengerUser The authenticated Avenger.
+     * @param token The syncToken of the previous sync or bootstrap; null for a reset.
+     * @return The changes and the token to send next time.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public AvengerSyncDTO sync(User avengerUser, String token) {
+        String stamp = resourceVersions.changeStamp(avengerUser.getId());
+        LocalDateTime now = LocalDateTime.now();
+        String nextToken = Cursor.encode(stamp, now); // Read before any query, like the bootstrap's token
+        Map<String, String> user = userService.getUserDetails(avengerUser);
+        if (token == null || token.isBlank()) {
+            return new AvengerSyncDTO(nextToken, true, user, null, null, null, null, null, List.of());
+        }
+        Cursor previous = Cursor.parse(token, stamp, now);
+        LocalDateTime lastSync = previous.timestamp(1);
+        if (previous.text(0).equals(stamp)) {
+            // Nothing visible to this Avenger was committed since the token was issued
+            return new AvengerSyncDTO(token, false, user, List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        LocalDateTime since = lastSync.minusSeconds(syncOverlapSeconds);
+        int fetch = syncMaxChanges + 1; // One extra row tells whether the delta overflows
+        QueryFanOut.Batch batch = queryFanOut.batch("avenger sync");
+        var missions = batch.submit("missions", () -> missionService.getMissionsChangedSince(avengerUser, since, fetch), null);
+        var attendance = batch.submit("attendance", () -> attendanceService.getAttendanceCreatedSince(avengerUser, since, fetch), null);
+        var transactions = batch.submit("transactions", () -> transactionService.getTransactionsSince(avengerUser, since, fetch), null);
+        var feedback = batch.submit("feedback", () -> feedbackService.getFeedbackChangedSince(avengerUser, since, fetch), null);
+        var announcements = batch.submit("announcements", () -> announcementService.getAnnouncementsSince(since, fetch), null);
+        List<String> unavailable = batch.await();
+
+        for (QueryFanOut.Call<? extends List<?>> call : List.of(missions, attendance, transactions, feedback, announcements)) {
+            if (!call.failed() && call.get().size() > syncMaxChanges) {
+                return new AvengerSyncDTO(nextToken, true, user, null, null, null, null, null, List.of());
+            }
+        }
+        // A partial delta keeps the old token, so the missing aggregates are read again next time
+        return new AvengerSyncDTO(unavailable.isEmpty() ? nextToken : token, false, user, missions.get(), attendance.get(),
+                transactions.get(), feedback.get(), announcements.get(), unavailable);
+    }
+
+    private String issueSyncToken(User avengerUser) {
+        return Cursor.encode(resourceVersions.changeStamp(avengerUser.getId()), LocalDateTime.now());
+    }
+
+    private StatsCalls submitStats(QueryFanOut.Batch batch, User avengerUser) {
+        YearMonth currentMonth = YearMonth.now();
+        return new StatsCalls(
+                batch.submit("activeMissions", () -> missionService.countActiveMissionsForAvenger(avengerUser), null),
+                batch.submit("completedMissions", () -> missionService.countCompletedMissionsForAvenger(avengerUser), null),
+                batch.submit("attendanceRate", () -> attendanceService.getAttendanceStatsForAvenger(avengerUser, currentMonth), null));
+    }
+
+    // Null when the section was left out with a limit of 0
+    private <T> QueryFanOut.Call<CursorPage<T>> submitSection(QueryFanOut.Batch batch, String name, Integer requestedLimit,
+                                                              IntFunction<CursorPage<T>> firstPage) {
+        if (requestedLimit != null && requestedLimit == 0) {
+            return null;
+        }
+        int limit = pageLimits.resolve(new PageQuery(null, requestedLimit, false, false));
+        return batch.submit(name, () -> firstPage.apply(limit), null);
+    }
+
+    private static <T> T valueOf(QueryFanOut.Call<T> call) {
+        return call == null ? null : call.get();
+    }
+}
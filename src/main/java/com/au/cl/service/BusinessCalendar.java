@@ -0,0 +1,164 @@
+package com.au.cl.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Club business calendar: configurable non-working weekdays and holidays.
+ * Workday bitmaps (bit d-1 set = day d is a workday) are precomputed per month into an
+ * immutable snapshot that is swapped atomically whenever the calendar changes.
+ * Holidays added at runtime are kept in memory only; permanent ones belong in {@code calendar.holidays}.
+ */
+@Component
+public class BusinessCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessCalendar.class);
+
+    private final int yearsBack;
+    private final int yearsAhead;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Immutable view of the calendar with per-month workday masks for the precomputed range.
+     */
+    private record Snapshot(Set<DayOfWeek> nonWorkingDays, Set<LocalDate> holidays, Map<YearMonth, Integer> workdayMasks) {
+
+        int workdayMask(YearMonth yearMonth) {
+            Integer mask = workdayMasks.get(yearMonth);
+            return mask != null ? mask : computeMask(yearMonth, nonWorkingDays, holidays); // Outside the precomputed range
+        }
+    }
+
+    public BusinessCalendar(@Value("${calendar.non-working-days:SATURDAY,SUNDAY}") List<String> nonWorkingDays,
+                            @Value("${calendar.holidays:}") List<String> holidays,
+                            @Value("${calendar.precompute.years-back:5}") int yearsBack,
+                            @Value("${calendar.precompute.years-ahead:1}") int yearsAhead) {
+        this.yearsBack = yearsBack;
+        this.yearsAhead = yearsAhead;
+
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : nonWorkingDays) {
+            if (!day.isBlank()) {
+                days.add(DayOfWeek.valueOf(day.trim().toUpperCase()));
+            }
+        }
+        Set<LocalDate> dates = new TreeSet<>();
+        for (String date : holidays) {
+            if (!date.isBlank()) {
+                try {
+                    dates.add(LocalDate.parse(date.trim()));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid holiday date in calendar.holidays: " + date, e);
+                }
+            }
+        }
+        rebuild(days, dates);
+    }
+
+    /**
+     * @param yearMonth The month.
+     * @return Bitmap of the month's workdays (bit d-1 set = day d is a workday).
+     */
+    public int workdayMask(YearMonth yearMonth) {
+        return snapshot.workdayMask(yearMonth);
+    }
+
+    /**
+     * @param yearMonth The month.
+     * @return Number of workdays in the month.
+     */
+    public int workdayCount(YearMonth yearMonth) {
+        return Integer.bitCount(workdayMask(yearMonth));
+    }
+
+    /**
+     * @param date The day.
+     * @return true if the day is neither a non-working weekday nor a holiday.
+     */
+    public boolean isWorkday(LocalDate date) {
+        return (workdayMask(YearMonth.from(date)) & (1 << (date.getDayOfMonth() - 1))) != 0;
+    }
+
+    /**
+     * @return The configured holidays, in date order.
+     */
+    public List<LocalDate> getHolidays() {
+        return snapshot.holidays().stream().sorted().toList();
+    }
+
+    /**
+     * @return The non-working days of the week.
+     */
+    public Set<DayOfWeek> getNonWorkingDays() {
+        return snapshot.nonWorkingDays();
+    }
+
+    /**
+     * Adds a holiday and rebuilds the precomputed masks.
+     * @param date The holiday.
+     * @return true if the date was not already a holiday.
+     */
+    public synchronized boolean addHoliday(LocalDate date) {
+        Set<LocalDate> holidays = new TreeSet<>(snapshot.holidays());
+        if (!holidays.add(date)) {
+            return false;
+        }
+        rebuild(snapshot.nonWorkingDays(), holidays);
+        return true;
+    }
+
+    /**
+     * Removes a holiday and rebuilds the precomputed masks.
+     * @param date The holiday.
+     * @return true if the date was a holiday.
+     */
+    public synchronized boolean removeHoliday(LocalDate date) {
+        Set<LocalDate> holidays = new TreeSet<>(snapshot.holidays());
+        if (!holidays.remove(date)) {
+            return false;
+        }
+        rebuild(snapshot.nonWorkingDays(), holidays);
+        return true;
+    }
+
+    private synchronized void rebuild(Collection<DayOfWeek> nonWorkingDays, Collection<LocalDate> holidays) {
+        Set<DayOfWeek> days = nonWorkingDays.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(nonWorkingDays));
+        Set<LocalDate> dates = Set.copyOf(holidays);
+        int currentYear = LocalDate.now().getYear();
+        Map<YearMonth, Integer> masks = new HashMap<>();
+        for (int year = currentYear - yearsBack; year <= currentYear + yearsAhead; year++) {
+            for (int month = 1; month <= 12; month++) {
+                YearMonth yearMonth = YearMonth.of(year, month);
+                masks.put(yearMonth, computeMask(yearMonth, days, dates));
+            }
+        }
+        snapshot = new Snapshot(days, dates, Map.copyOf(masks));
+        logger.info("Business calendar rebuilt: non-working days {}, {} holidays, {} months precomputed.", days, dates.size(), masks.size());
+    }
+
+    private static int computeMask(YearMonth yearMonth, Set<DayOfWeek> nonWorkingDays, Set<LocalDate> holidays) {
+        int mask = 0;
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            LocalDate date = yearMonth.atDay(day);
+            if (!nonWorkingDays.contains(date.getDayOfWeek()) && !holidays.contains(date)) {
+                mask |= 1 << (day - 1);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,143 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.DashboardStatsDTO;
+import com.au.cl.model.Mission.MissionStatus;
+import com.au.cl.model.Role;
+import com.au.cl.model.Transaction.TransactionType;
+import com.au.cl.repository.MissionRepository;
+import com.au.cl.repository.TransactionRepository;
+import com.au.cl.repository.UserRepository;
+import com.au.cl.util.QueryFanOut;
+import com.au.cl.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory figures behind the admin dashboard overview.
+ * Registration, mission and payment write paths apply their deltas after commit, the unread feedback count
+ * comes from {@link FeedbackService}'s counter, and a periodic resync re-reads everything to correct drift.
+ * The month's salary total rolls over by itself: it is keyed by month and a new month starts from zero.
+ */
+@Component
+public class DashboardSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshot.class);
+
+    private final UserRepository userRepository;
+    private final MissionRepository missionRepository;
+    private final TransactionRepository transactionRepository;
+    private final FeedbackService feedbackService;
+    private final QueryFanOut queryFanOut;
+
+    private final AtomicLong totalAvengers = new AtomicLong();
+    private final AtomicLong activeMissions = new AtomicLong();
+    private final AtomicReference<MonthTotal> salaryThisMonth = new AtomicReference<>(new MonthTotal(YearMonth.now(), 0.0));
+    private volatile LocalDateTime syncedAt; // Null until the first resync
+
+    private record MonthTotal(YearMonth month, double total) {
+    }
+
+    public DashboardSnapshot(UserRepository userRepository, MissionRepository missionRepository,
+                             TransactionRepository transactionRepository, FeedbackService feedbackService,
+                             QueryFanOut queryFanOut) {
+        this.userRepository = userRepository;
+        this.missionRepository = missionRepository;
+        this.transactionRepository = transactionRepository;
+        this.feedbackService = feedbackService;
+        this.queryFanOut = queryFanOut;
+    }
+
+    /**
+     * Records a newly registered Avenger.
+     */
+    public void avengerRegistered() {
+        TransactionCallbacks.afterCommit(totalAvengers::incrementAndGet);
+    }
+
+    /**
+     * Records a newly created mission.
+     * @param status The mission's initial status.
+     */
+    public void missionCreated(MissionStatus status) {
+        if (status == MissionStatus.ONGOING) {
+            TransactionCallbacks.afterCommit(activeMissions::incrementAndGet);
+        }
+    }
+
+    /**
+     * Records a committed payment.
+     * @param type The transaction type; only salaries are totalled.
+     * @param transactionDate The payment timestamp.
+     * @param amount The amount paid.
+     */
+    public void paymentRecorded(TransactionType type, LocalDateTime transactionDate, double amount) {
+        if (type != TransactionType.SALARY) {
+            return;
+        }
+        YearMonth month = YearMonth.from(transactionDate);
+        TransactionCallbacks.afterCommit(() -> salaryThisMonth.updateAndGet(current -> {
+            if (current.month().equals(month)) {
+                return new MonthTotal(month, current.total() + amount);
+            }
+            // First salary of a new month starts a fresh total; a late commit for an older month is ignored
+            return month.isAfter(current.month()) ? new MonthTotal(month, amount) : current;
+        }));
+    }
+
+    /**
+     * @param maxStalenessSeconds If set, figures last re-read from the database longer ago than this are refreshed first.
+     * @return The dashboard figures, answered from memory unless a refresh was needed.
+     */
+    public DashboardStatsDTO getStats(Long maxStalenessSeconds) {
+        LocalDateTime lastSync = syncedAt;
+        if (lastSync == null || (maxStalenessSeconds != null && lastSync.plusSeconds(Math.max(0, maxStalenessSeconds)).isBefore(LocalDateTime.now()))) {
+            resync();
+        }
+        MonthTotal salaries = salaryThisMonth.get();
+        double totalPaymentsThisMonth = salaries.month().equals(YearMonth.now()) ? salaries.total() : 0.0;
+        return new DashboardStatsDTO(totalAvengers.get(), activeMissions.get(), feedbackService.countUnreadFeedback(),
+                totalPaymentsThisMonth, syncedAt);
+    }
+
+    /**
+     * Re-reads every figure from the database, correcting drift (e.g. rows changed outside the application).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.resync-interval-ms:600000}", initialDelayString = "${dashboard.snapshot.resync-interval-ms:600000}")
+    public synchronized void resync() {
+        YearMonth month = YearMonth.now();
+        // The three aggregates are independent, so they run concurrently; a figure whose query fails keeps its current value
+        QueryFanOut.Batch batch = queryFanOut.batch("dashboard snapshot resync");
+        QueryFanOut.Call<Long> avengerCount = batch.submit("totalAvengers", () -> userRepository.countByRole(Role.AVENGER), null);
+        QueryFanOut.Call<Long> ongoingCount = batch.submit("activeMissions", () -> missionRepository.countByStatus(MissionStatus.ONGOING), null);
+        QueryFanOut.Call<Double> salarySum = batch.submit("totalPaymentsThisMonth", () -> transactionRepository.sumAmountByTypeInRange(TransactionType.SALARY,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay()), null);
+        boolean complete = batch.await().isEmpty();
+
+        long avengers = avengerCount.failed() ? totalAvengers.get() : avengerCount.get();
+        long ongoing = ongoingCount.failed() ? activeMissions.get() : ongoingCount.get();
+        MonthTotal current = salaryThisMonth.get();
+        double salaries = !salarySum.failed() ? salarySum.get() : current.month().equals(month) ? current.total() : 0.0;
+        long previousAvengers = totalAvengers.getAndSet(avengers);
+        long previousOngoing = activeMissions.getAndSet(ongoing);
+        MonthTotal previousSalaries = salaryThisMonth.getAndSet(new MonthTotal(month, salaries));
+        if (complete) {
+            // A partial resync leaves syncedAt alone, so the next staleness-bounded read retries it
+            syncedAt = LocalDateTime.now();
+        }
+        if (previousAvengers != avengers || previousOngoing != ongoing
+                || (previousSalaries.month().equals(month) && Double.compare(previousSalaries.total(), salaries) != 0)) {
+            logger.info("Dashboard snapshot resynced: avengers {} -> {}, ongoing missions {} -> {}, salaries {} -> {}.",
+                    previousAvengers, avengers, previousOngoing, ongoing, previousSalaries.total(), salaries);
+        }
+    }
+}
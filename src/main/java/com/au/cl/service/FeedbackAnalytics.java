@@ -0,0 +1,245 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.FeedbackRollupDTO;
+import com.au.cl.model.FeedbackCategory;
+import com.au.cl.repository.FeedbackRepository;
+import com.au.cl.repository.FeedbackRepository.RollupRow;
+import com.au.cl.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Feedback rollups (count, average rating, rating histogram) per category for every week, month
+ * and all time. Submissions update the rollups incrementally; a rebuild recomputes them from the
+ * raw rows in parallel id ranges and swaps them in, replaying submissions that raced with it and
+ * that no range read.
+ */
+@Component
+public class FeedbackAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackAnalytics.class);
+
+    public enum Granularity {
+        WEEK, MONTH, ALL
+    }
+
+    private record RollupKey(Granularity granularity, LocalDate periodStart, FeedbackCategory category) {
+    }
+
+    private record Submission(long id, FeedbackCategory category, Integer rating, LocalDateTime submittedAt) {
+    }
+
+    // One id range of a rebuild: its rollups, and which ids it actually read (bit i = fromId + i)
+    private record Chunk(long fromId, Map<RollupKey, Cell> cells, BitSet scannedIds) {
+    }
+
+    private static final class Cell {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder ratedCount = new LongAdder();
+        private final LongAdder ratingSum = new LongAdder();
+        private final LongAdder[] histogram = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+        void add(Integer rating) {
+            count.increment();
+            if (rating != null && rating >= 1 && rating <= 5) {
+                ratedCount.increment();
+                ratingSum.add(rating);
+                histogram[rating - 1].increment();
+            }
+        }
+
+        void merge(Cell other) {
+            count.add(other.count.sum());
+            ratedCount.add(other.ratedCount.sum());
+            ratingSum.add(other.ratingSum.sum());
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i].add(other.histogram[i].sum());
+            }
+        }
+
+        FeedbackRollupDTO toDto(RollupKey key) {
+            long rated = ratedCount.sum();
+            long[] ratings = new long[histogram.length];
+            for (int i = 0; i < histogram.length; i++) {
+                ratings[i] = histogram[i].sum();
+            }
+            return new FeedbackRollupDTO(key.category(), key.periodStart(), count.sum(), rated,
+                    rated == 0 ? 0.0 : (double) ratingSum.sum() / rated, ratings);
+        }
+    }
+
+    private final FeedbackRepository feedbackRepository;
+    private final int rebuildChunkSize;
+    private final ExecutorService rebuildExecutor;
+
+    private volatile Map<RollupKey, Cell> rollups = new ConcurrentHashMap<>();
+    // Record takes the read lock, the rebuild swap takes the write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile boolean rebuilding;
+    private final ConcurrentLinkedQueue<Submission> submittedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public FeedbackAnalytics(FeedbackRepository feedbackRepository,
+                             @Value("${feedback.analytics.rebuild-chunk-size:5000}") int rebuildChunkSize,
+                             @Value("${feedback.analytics.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.feedbackRepository = feedbackRepository;
+        this.rebuildChunkSize = rebuildChunkSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.rebuildExecutor = Executors.newFixedThreadPool(rebuildParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "feedback-rollup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Adds a submission to the rollups once the surrounding transaction commits.
+     * @param id The feedback ID.
+     * @param category The feedback category.
+     * @param rating The rating (1-5), or null.
+     * @param submittedAt The submission timestamp.
+     */
+    public void recordSubmission(long id, FeedbackCategory category, Integer rating, LocalDateTime submittedAt) {
+        Submission submission = new Submission(id, category, rating, submittedAt);
+        TransactionCallbacks.afterCommit(() -> {
+            swapLock.readLock().lock();
+            try {
+                apply(rollups, submission);
+                if (rebuilding) {
+                    submittedDuringRebuild.add(submission);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the rollups of one granularity, oldest period first.
+     * @param granularity WEEK, MONTH or ALL.
+     * @param from First period start to include, or null.
+     * @param to Last period start to include, or null.
+     * @param category Category to include, or null for all.
+     * @return Matching rollups.
+     */
+    public List<FeedbackRollupDTO> getRollups(Granularity granularity, LocalDate from, LocalDate to, FeedbackCategory category) {
+        List<FeedbackRollupDTO> result = new ArrayList<>();
+        rollups.forEach((key, cell) -> {
+            if (key.granularity() != granularity || (category != null && key.category() != category)) {
+                return;
+            }
+            if (key.periodStart() != null && ((from != null && key.periodStart().isBefore(from)) || (to != null && key.periodStart().isAfter(to)))) {
+                return;
+            }
+            result.add(cell.toDto(key));
+        });
+        result.sort(Comparator.comparing(FeedbackRollupDTO::getPeriodStart, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(FeedbackRollupDTO::getCategory));
+        return result;
+    }
+
+    /**
+     * Recomputes every rollup from the feedback table, splitting the id space into chunks that are
+     * aggregated in parallel, then swaps the result in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${feedback.analytics.rebuild-cron:0 30 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            Long maxId = feedbackRepository.findMaxId();
+            long upperId = maxId == null ? 0 : maxId;
+            List<CompletableFuture<Chunk>> futures = new ArrayList<>();
+            for (long fromId = 1; fromId <= upperId; fromId += rebuildChunkSize) {
+                long chunkStart = fromId;
+                long chunkEnd = Math.min(upperId, fromId + rebuildChunkSize - 1);
+                futures.add(CompletableFuture.supplyAsync(() -> aggregate(chunkStart, chunkEnd), rebuildExecutor));
+            }
+            List<Chunk> chunks = new ArrayList<>(futures.size());
+            Map<RollupKey, Cell> rebuilt = new ConcurrentHashMap<>();
+            for (CompletableFuture<Chunk> future : futures) {
+                Chunk chunk = future.join();
+                chunk.cells().forEach((key, cell) -> rebuilt.computeIfAbsent(key, k -> new Cell()).merge(cell));
+                chunks.add(chunk);
+            }
+
+            swapLock.writeLock().lock();
+            try {
+                // Ids are not assigned in commit order: a lower id that committed after its chunk was read is
+                // missing too, so replay whatever no chunk scanned rather than everything above maxId
+                Submission submission;
+                while ((submission = submittedDuringRebuild.poll()) != null) {
+                    if (!scanned(chunks, submission.id())) {
+                        apply(rebuilt, submission);
+                    }
+                }
+                rollups = rebuilt;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            logger.info("Feedback rollups rebuilt from {} chunks in {} ms.", chunks.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+            submittedDuringRebuild.clear();
+        }
+    }
+
+    private Chunk aggregate(long fromId, long toId) {
+        Map<RollupKey, Cell> local = new HashMap<>();
+        BitSet scannedIds = new BitSet((int) (toId - fromId + 1));
+        for (RollupRow row : feedbackRepository.findRollupRowsByIdBetween(fromId, toId)) {
+            apply(local, new Submission(row.getId(), row.getCategory(), row.getRating(), row.getSubmittedAt()));
+            scannedIds.set((int) (row.getId() - fromId));
+        }
+        return new Chunk(fromId, local, scannedIds);
+    }
+
+    // Chunks cover 1..maxId in order, rebuildChunkSize ids each
+    private boolean scanned(List<Chunk> chunks, long id) {
+        long index = (id - 1) / rebuildChunkSize;
+        if (id < 1 || index >= chunks.size()) {
+            return false;
+        }
+        Chunk chunk = chunks.get((int) index);
+        return chunk.scannedIds().get((int) (id - chunk.fromId()));
+    }
+
+    private static void apply(Map<RollupKey, Cell> target, Submission submission) {
+        LocalDate day = submission.submittedAt().toLocalDate();
+        LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate month = day.withDayOfMonth(1);
+        target.computeIfAbsent(new RollupKey(Granularity.WEEK, week, submission.category()), key -> new Cell()).add(submission.rating());
+        target.computeIfAbsent(new RollupKey(Granularity.MONTH, month, submission.category()), key -> new Cell()).add(submission.rating());
+        target.computeIfAbsent(new RollupKey(Granularity.ALL, null, submission.category()), key -> new Cell()).add(submission.rating());
+    }
+}
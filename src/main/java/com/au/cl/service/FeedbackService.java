@@ -2,16 +2,27 @@ package com.au.cl.service;
 
 import com.au.cl.dto.FeedbackCreateRequest; // Import new DTO
 import com.au.cl.dto.FeedbackDTO;
+import com.au.cl.dto.FeedbackDetailDTO;
+import com.au.cl.dto.FeedbackMarkReadRequest;
+import com.au.cl.dto.FeedbackSummaryDTO;
 import com.au.cl.model.Feedback;
 import com.au.cl.model.User; // Import User
 import com.au.cl.repository.FeedbackRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import jakarta.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
 public class FeedbackService {
@@ -19,40 +30,137 @@ public class FeedbackService {
     private static final Logger logger = LoggerFactory.getLogger(FeedbackService.class);
 
     private final FeedbackRepository feedbackRepository;
+    private final SearchIndexService searchIndexService;
+    private final FeedbackAnalytics feedbackAnalytics;
+    private final ResourceVersions resourceVersions;
 
-    public FeedbackService(FeedbackRepository feedbackRepository) {
+    // Unread count served to the dashboard; kept current on submit/read and reconciled with the table periodically
+    private final AtomicLong unreadCount = new AtomicLong();
+
+    public FeedbackService(FeedbackRepository feedbackRepository, SearchIndexService searchIndexService, FeedbackAnalytics feedbackAnalytics,
+                           ResourceVersions resourceVersions) {
         this.feedbackRepository = feedbackRepository;
+        this.searchIndexService = searchIndexService;
+        this.feedbackAnalytics = feedbackAnalytics;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
-     * Retrieves all feedback, ordered by submission date descending (for admin).
-     * @return List of FeedbackDTOs.
+     * Retrieves one page of feedback, ordered by submission date descending (for admin).
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of FeedbackDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<FeedbackDTO> getAllFeedback() {
-        return feedbackRepository.findAll().stream() // Assuming findAll returns ordered by ID or default
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<FeedbackDTO> getFeedbackPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(feedbackRepository.findPageNewestFirst(after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, feedback -> Cursor.encode(feedback.getSubmittedAt(), feedback.getId()), this::convertToDto);
+    }
+
+    /**
+     * Retrieves one page of list-view summaries (subject, preview, author, timestamps), newest first.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of FeedbackSummaryDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<FeedbackSummaryDTO> getFeedbackSummaryPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(feedbackRepository.findSummaryPageNewestFirst(after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, summary -> Cursor.encode(summary.getSubmittedAt(), summary.getId()));
+    }
+
+    /**
+     * @return Total number of feedback entries.
+     */
+    public long countFeedback() {
+        return feedbackRepository.count();
+    }
+
+    /**
+     * Retrieves one feedback item with its full text.
+     * @param feedbackId The ID of the feedback.
+     * @return The FeedbackDetailDTO.
+     * @throws IllegalArgumentException if feedback not found.
+     */
+    public FeedbackDetailDTO getFeedbackDetail(Long feedbackId) {
+        return feedbackRepository.findDetailById(feedbackId)
+                .orElseThrow(() -> new IllegalArgumentException("Feedback not found with ID: " + feedbackId));
+    }
+
+    /**
+     * Streams all feedback straight from a database cursor (for large admin exports).
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of FeedbackDTOs, ordered by ID.
+     */
+    public Stream<FeedbackDTO> streamAllFeedback() {
+        return feedbackRepository.streamAllAsDto();
     }
 
     /**
-     * Marks a specific feedback as read.
+     * Marks a specific feedback as read with a single UPDATE.
      * @param feedbackId The ID of the feedback to mark as read.
      * @throws IllegalArgumentException if feedback not found.
      */
     public void markFeedbackAsRead(Long feedbackId) {
-        Feedback feedback = feedbackRepository.findById(feedbackId)
-                .orElseThrow(() -> new IllegalArgumentException("Feedback not found with ID: " + feedbackId));
-        feedback.setIsRead(true);
-        feedbackRepository.save(feedback);
+        if (feedbackRepository.markReadById(feedbackId, LocalDateTime.now()) == 1) {
+            unreadCount.decrementAndGet();
+            resourceVersions.feedbackChanged(feedbackRepository.findUserIdsByIdIn(List.of(feedbackId)));
+        } else if (!feedbackRepository.existsById(feedbackId)) { // Only checked on the rare no-op path
+            throw new IllegalArgumentException("Feedback not found with ID: " + feedbackId);
+        }
         logger.info("Feedback with ID {} marked as read.", feedbackId);
     }
 
+    /**
+     * Marks feedback as read in bulk with a single UPDATE: either the given IDs, or everything submitted before a timestamp.
+     * @param request Exactly one of feedbackIds or submittedBefore.
+     * @return Number of feedback items that changed from unread to read.
+     * @throws IllegalArgumentException if neither or both criteria are given.
+     */
+    @Transactional
+    public int markFeedbackAsRead(FeedbackMarkReadRequest request) {
+        boolean byIds = request.getFeedbackIds() != null && !request.getFeedbackIds().isEmpty();
+        boolean byTime = request.getSubmittedBefore() != null;
+        if (byIds == byTime) {
+            throw new IllegalArgumentException("Provide either feedbackIds or submittedBefore.");
+        }
+        // The authors are needed for their delta-sync stamps; the time-based UPDATE is limited to the authors found,
+        // so an item submitted concurrently is left for the next clear instead of changing without its author's stamp
+        List<Long> authorIds = byIds
+                ? feedbackRepository.findUserIdsByIdIn(request.getFeedbackIds())
+                : feedbackRepository.findUnreadUserIdsSubmittedBefore(request.getSubmittedBefore());
+        int updated = authorIds.isEmpty() ? 0 : byIds
+                ? feedbackRepository.markReadByIdIn(request.getFeedbackIds(), LocalDateTime.now())
+                : feedbackRepository.markReadSubmittedBefore(request.getSubmittedBefore(), authorIds, LocalDateTime.now());
+        unreadCount.addAndGet(-updated);
+        if (updated > 0) {
+            resourceVersions.feedbackChanged(authorIds);
+        }
+        logger.info("{} feedback items marked as read in bulk.", updated);
+        return updated;
+    }
+
     /**
      * Counts the number of unread feedback items.
-     * @return Count of unread feedback.
+     * @return Count of unread feedback (in-memory, no query).
      */
     public long countUnreadFeedback() {
-        return feedbackRepository.countByIsReadFalse();
+        return Math.max(0, unreadCount.get());
+    }
+
+    /**
+     * Re-reads the unread count from the table, correcting any drift (e.g. rows changed outside the application).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${feedback.unread.reconcile-interval-ms:300000}", initialDelayString = "${feedback.unread.reconcile-interval-ms:300000}")
+    public void reconcileUnreadCount() {
+        long actual = feedbackRepository.countByIsReadFalse();
+        long previous = unreadCount.getAndSet(actual);
+        if (previous != actual) {
+            logger.info("Unread feedback count reconciled: {} -> {}.", previous, actual);
+        }
     }
 
     /**
@@ -70,23 +178,52 @@ public class FeedbackService {
         feedback.setIsAnonymous(request.getIsAnonymous());
         feedback.setRating(request.getRating()); // Set rating
         feedback.setSubmittedAt(LocalDateTime.now());
+        feedback.setUpdatedAt(feedback.getSubmittedAt());
         feedback.setIsRead(false); // New feedback is unread by default
 
         Feedback savedFeedback = feedbackRepository.save(feedback);
+        unreadCount.incrementAndGet();
+        resourceVersions.feedbackChanged(List.of(avengerUser.getId()));
+        searchIndexService.indexFeedback(savedFeedback);
+        feedbackAnalytics.recordSubmission(savedFeedback.getId(), savedFeedback.getCategory(), savedFeedback.getRating(), savedFeedback.getSubmittedAt());
         logger.info("Feedback submitted by Avenger {} (Anonymous: {}): Category: {}, Subject: {}",
                 avengerUser.getUsername(), request.getIsAnonymous(), request.getCategory(), request.getSubject());
         return convertToDto(savedFeedback);
     }
 
     /**
-     * Retrieves feedback history for a specific Avenger.
+     * Retrieves one page of feedback history for a specific Avenger, newest first.
      * @param avengerUser The Avenger user.
-     * @return List of FeedbackDTOs for the given Avenger.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of FeedbackDTOs for the given Avenger.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<FeedbackDTO> getFeedbackHistoryForAvenger(User avengerUser) {
-        return feedbackRepository.findByUserOrderBySubmittedAtDesc(avengerUser).stream()
+    public CursorPage<FeedbackDTO> getFeedbackHistoryForAvenger(User avengerUser, String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(feedbackRepository.findPageByUserNewestFirst(avengerUser.getId(), after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, feedback -> Cursor.encode(feedback.getSubmittedAt(), feedback.getId()), this::convertToDto);
+    }
+
+    /**
+     * Retrieves an Avenger's feedback submitted or marked as read after a point in time, oldest change first.
+     * @param avengerUser The Avenger user.
+     * @param since Changes strictly after this instant are returned.
+     * @param limit The maximum number of rows.
+     * @return The changed FeedbackDTOs.
+     */
+    public List<FeedbackDTO> getFeedbackChangedSince(User avengerUser, LocalDateTime since, int limit) {
+        return feedbackRepository.findChangedByUserSince(avengerUser.getId(), since, PageRequest.ofSize(limit)).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return Number of feedback entries the Avenger has submitted.
+     */
+    public long countFeedbackForAvenger(User avengerUser) {
+        return feedbackRepository.countByUserId(avengerUser.getId());
     }
 
     /**
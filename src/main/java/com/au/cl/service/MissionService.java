@@ -9,14 +9,30 @@ import com.au.cl.model.MissionParticipant;
 import com.au.cl.model.User;
 import com.au.cl.repository.MissionParticipantRepository;
 import com.au.cl.repository.MissionRepository;
+import com.au.cl.repository.MissionRepository.MissionParticipantRow;
 import com.au.cl.repository.UserRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.ReadCaches;
+import com.au.cl.util.ReadThroughCache;
+import com.au.cl.util.ReadThroughCache.PageKey;
+import com.au.cl.util.TransactionCallbacks;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class MissionService {
@@ -26,11 +42,23 @@ public class MissionService {
     private final MissionRepository missionRepository;
     private final UserRepository userRepository;
     private final MissionParticipantRepository missionParticipantRepository;
+    private final SearchIndexService searchIndexService;
+    private final ResourceVersions resourceVersions;
+    private final DashboardSnapshot dashboardSnapshot;
 
-    public MissionService(MissionRepository missionRepository, UserRepository userRepository, MissionParticipantRepository missionParticipantRepository) {
+    // Admin mission list pages; they embed participant details, so Avenger updates clear them too
+    private final ReadThroughCache<PageKey, CursorPage<MissionDTO>> pages;
+
+    public MissionService(MissionRepository missionRepository, UserRepository userRepository, MissionParticipantRepository missionParticipantRepository,
+                          SearchIndexService searchIndexService, ResourceVersions resourceVersions,
+                          DashboardSnapshot dashboardSnapshot, ReadCaches readCaches) {
         this.missionRepository = missionRepository;
         this.userRepository = userRepository;
         this.missionParticipantRepository = missionParticipantRepository;
+        this.searchIndexService = searchIndexService;
+        this.resourceVersions = resourceVersions;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.pages = readCaches.create("mission pages");
     }
 
     /**
@@ -60,32 +88,120 @@ public class MissionService {
             MissionParticipant missionParticipant = new MissionParticipant();
             missionParticipant.setMission(savedMission);
             missionParticipant.setUser(participant);
+            missionParticipant.setMissionUpdatedAt(savedMission.getUpdatedAt());
             missionParticipantRepository.save(missionParticipant);
         }
+        searchIndexService.indexMission(savedMission);
+        TransactionCallbacks.afterCommit(pages::invalidateAll); // Before the version bump, like every cache invalidation
+        resourceVersions.missionsChanged(request.getParticipantUserIds());
+        dashboardSnapshot.missionCreated(savedMission.getStatus());
 
         logger.info("Mission '{}' created by admin {} with {} participants.", savedMission.getMissionName(), adminUser.getUsername(), participants.size());
         return convertToDto(savedMission);
     }
 
     /**
-     * Retrieves all missions.
-     * @return List of MissionDTOs.
+     * Retrieves one page of missions, newest first.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of MissionDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<MissionDTO> getAllMissions() {
-        return missionRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MissionDTO> getMissionPage(String cursor, int limit) {
+        return pages.get(new PageKey(cursor, limit), () -> loadMissionPage(cursor, limit));
+    }
+
+    /**
+     * Clears cached mission pages after an Avenger's username, email or balance changed, since pages embed participant details.
+     */
+    public void participantsChanged() {
+        TransactionCallbacks.afterCommit(pages::invalidateAll);
+    }
+
+    private CursorPage<MissionDTO> loadMissionPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Long.MAX_VALUE);
+        return CursorPage.of(missionRepository.findPageNewestFirst(after.id(0), PageRequest.ofSize(limit + 1)),
+                limit, mission -> Cursor.encode(mission.getId()), this::convertToDto);
+    }
+
+    /**
+     * @return Total number of missions.
+     */
+    public long countMissions() {
+        return missionRepository.count();
+    }
+
+    /**
+     * Streams all missions with their participants from a single database cursor (for large admin exports).
+     * Consecutive rows of the same mission are folded into one MissionDTO, so only one mission is held at a time.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of MissionDTOs, ordered by ID.
+     */
+    public Stream<MissionDTO> streamAllMissions() {
+        Stream<MissionParticipantRow> rows = missionRepository.streamAllWithParticipants();
+        Iterator<MissionParticipantRow> rowIterator = rows.iterator();
+        Iterator<MissionDTO> missions = new Iterator<>() {
+            private MissionParticipantRow pending = rowIterator.hasNext() ? rowIterator.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public MissionDTO next() {
+                if (pending == null) {
+                    throw new NoSuchElementException();
+                }
+                MissionDTO dto = new MissionDTO(pending.getId(), pending.getMissionName(), pending.getDescription(), pending.getStatus(),
+                        pending.getAssignedByUsername(), pending.getCreatedAt(), pending.getUpdatedAt(), new ArrayList<>());
+                do {
+                    if (pending.getParticipantId() != null) {
+                        dto.getParticipants().add(new UserDTO(pending.getParticipantId(), pending.getParticipantUsername(), pending.getParticipantEmail(),
+                                pending.getParticipantRole(), pending.getParticipantBalance(), pending.getParticipantAlive()));
+                    }
+                    pending = rowIterator.hasNext() ? rowIterator.next() : null;
+                } while (pending != null && pending.getId().equals(dto.getId()));
+                return dto;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(missions, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
     }
 
     /**
-     * Retrieves missions assigned to a specific Avenger.
+     * Retrieves one page of the missions assigned to a specific Avenger, newest first.
      * @param avengerUser The Avenger user.
-     * @return List of MissionDTOs for the given Avenger.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of MissionDTOs for the given Avenger.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<MissionDTO> getMissionsForAvenger(User avengerUser) {
-        return missionRepository.findMissionsByParticipantId(avengerUser.getId()).stream()
+    public CursorPage<MissionDTO> getMissionsForAvenger(User avengerUser, String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Long.MAX_VALUE);
+        return CursorPage.of(missionRepository.findPageByParticipantIdNewestFirst(avengerUser.getId(), after.id(0), PageRequest.ofSize(limit + 1)),
+                limit, mission -> Cursor.encode(mission.getId()), this::convertToDto);
+    }
+
+    /**
+     * Retrieves the missions of an Avenger created or updated after a point in time, oldest change first.
+     * @param avengerUser The Avenger user.
+     * @param since Changes strictly after this instant are returned.
+     * @param limit The maximum number of rows.
+     * @return The changed MissionDTOs.
+     */
+    public List<MissionDTO> getMissionsChangedSince(User avengerUser, LocalDateTime since, int limit) {
+        return missionRepository.findChangedByParticipantIdSince(avengerUser.getId(), since, PageRequest.ofSize(limit)).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return Number of missions the Avenger participates in.
+     */
+    public long countMissionsForAvenger(User avengerUser) {
+        return missionRepository.countByParticipantId(avengerUser.getId());
     }
 
     /**
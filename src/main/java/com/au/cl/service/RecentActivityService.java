@@ -0,0 +1,188 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.ActivityItemDTO;
+import com.au.cl.dto.ActivityItemDTO.Type;
+import com.au.cl.model.User;
+import com.au.cl.repository.AnnouncementRepository;
+import com.au.cl.repository.AttendanceRecordRepository;
+import com.au.cl.repository.FeedbackRepository;
+import com.au.cl.repository.MissionRepository;
+import com.au.cl.repository.TransactionRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.QueryFanOut;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An Avenger's recent activity: payments sent and received, attendance marks, mission assignments, feedback
+ * and announcements merged newest first. Each source is read with its own keyset query on an index that
+ * starts with the user (or, for announcements, the sort key), limited to the page size plus one, and the
+ * sources are merged k-way through a priority queue of their heads, so a page costs the same whatever the
+ * length of the histories. The cursor keeps one (timestamp, id) position per source.
+ */
+@Service
+public class RecentActivityService {
+
+    private final TransactionRepository transactionRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final MissionRepository missionRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final QueryFanOut queryFanOut;
+
+    // Sent and received payments are separate sources: an OR over both sides has no index that serves it in order
+    private enum Source {
+        SENT(Type.TRANSACTION), RECEIVED(Type.TRANSACTION), ATTENDANCE(Type.ATTENDANCE), MISSION(Type.MISSION),
+        FEEDBACK(Type.FEEDBACK), ANNOUNCEMENT(Type.ANNOUNCEMENT);
+
+        private final Type type;
+
+        Source(Type type) {
+            this.type = type;
+        }
+    }
+
+    private static final Source[] SOURCES = Source.values();
+
+    /**
+     * A source row with its keyset position.
+     */
+    private record Entry(LocalDateTime at, long key, ActivityItemDTO item) {
+    }
+
+    public RecentActivityService(TransactionRepository transactionRepository, AttendanceRecordRepository attendanceRecordRepository,
+                                 MissionRepository missionRepository, FeedbackRepository feedbackRepository,
+                                 AnnouncementRepository announcementRepository, QueryFanOut queryFanOut) {
+        this.transactionRepository = transactionRepository;
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.missionRepository = missionRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.announcementRepository = announcementRepository;
+        this.queryFanOut = queryFanOut;
+    }
+
+    /**
+     * Retrieves one page of an Avenger's activity, newest first.
+     * A source whose query fails or times out is skipped for this page without advancing its position,
+     * so its entries appear on a later page.
+     * @param avengerUser The Avenger user.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of ActivityItemDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<ActivityItemDTO> getRecentActivity(User avengerUser, String cursor, int limit) {
+        Object[] firstPage = new Object[SOURCES.length * 2];
+        for (int i = 0; i < SOURCES.length; i++) {
+            firstPage[i * 2] = Cursor.LATEST;
+            firstPage[i * 2 + 1] = Long.MAX_VALUE;
+        }
+        Cursor after = Cursor.parse(cursor, firstPage);
+        LocalDateTime[] positionAt = new LocalDateTime[SOURCES.length];
+        long[] positionKey = new long[SOURCES.length];
+        for (int i = 0; i < SOURCES.length; i++) {
+            positionAt[i] = after.timestamp(i * 2);
+            positionKey[i] = after.id(i * 2 + 1);
+        }
+
+        QueryFanOut.Batch batch = queryFanOut.batch("recent activity");
+        List<QueryFanOut.Call<List<Entry>>> calls = new ArrayList<>(SOURCES.length);
+        for (Source source : SOURCES) {
+            int i = source.ordinal();
+            calls.add(batch.submit(source.name(), () -> read(source, avengerUser.getId(), positionAt[i], positionKey[i], limit + 1), List.of()));
+        }
+        boolean partial = !batch.await().isEmpty();
+
+        // k-way merge: the queue holds the index of each source's next unconsumed entry
+        List<List<Entry>> sources = new ArrayList<>(SOURCES.length);
+        int[] next = new int[SOURCES.length];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Comparator
+                .comparing((Integer s) -> sources.get(s).get(next[s]).at(), Comparator.reverseOrder())
+                .thenComparing(s -> s));
+        for (int i = 0; i < SOURCES.length; i++) {
+            sources.add(calls.get(i).get());
+            if (!sources.get(i).isEmpty()) {
+                heads.add(i);
+            }
+        }
+        List<ActivityItemDTO> items = new ArrayList<>(limit);
+        while (items.size() < limit && !heads.isEmpty()) {
+            int s = heads.poll();
+            Entry entry = sources.get(s).get(next[s]++);
+            items.add(entry.item());
+            positionAt[s] = entry.at();
+            positionKey[s] = entry.key();
+            if (next[s] < sources.get(s).size()) {
+                heads.add(s);
+            }
+        }
+
+        // Every source was read one row past the page, so an unconsumed row means there is more;
+        // a skipped source may have more too, unless nothing could be read at all
+        if (heads.isEmpty() && !(partial && !items.isEmpty())) {
+            return new CursorPage<>(items, null);
+        }
+        Object[] keys = new Object[SOURCES.length * 2];
+        for (int i = 0; i < SOURCES.length; i++) {
+            keys[i * 2] = positionAt[i];
+            keys[i * 2 + 1] = positionKey[i];
+        }
+        return new CursorPage<>(items, Cursor.encode(keys));
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return Number of entries in the Avenger's activity feed.
+     */
+    public long countRecentActivity(User avengerUser) {
+        long userId = avengerUser.getId();
+        return transactionRepository.countBySenderId(userId) + transactionRepository.countByReceiverId(userId)
+                + attendanceRecordRepository.countByUserId(userId)
+                + missionRepository.countByParticipantId(userId) + feedbackRepository.countByUserId(userId)
+                + announcementRepository.count();
+    }
+
+    // Newest-first rows of one source strictly before (beforeAt, beforeKey), served by that source's keyset index
+    private List<Entry> read(Source source, long userId, LocalDateTime beforeAt, long beforeKey, int rows) {
+        PageRequest page = PageRequest.ofSize(rows);
+        return switch (source) {
+            case SENT -> transactionRepository.findSentPageNewestFirst(userId, beforeAt, beforeKey, page).stream()
+                    .map(t -> entry(source, t.getTransactionDate(), t.getId(),
+                            "Sent ₹" + t.getAmount() + " to " + t.getReceiver().getUsername() + describe(t.getDescription())))
+                    .toList();
+            case RECEIVED -> transactionRepository.findReceivedPageNewestFirst(userId, beforeAt, beforeKey, page).stream()
+                    .map(t -> entry(source, t.getTransactionDate(), t.getId(),
+                            "Received ₹" + t.getAmount() + " from " + t.getSender().getUsername() + describe(t.getDescription())))
+                    .toList();
+            case ATTENDANCE -> attendanceRecordRepository.findPageByUserNewestFirst(userId, beforeAt, beforeKey, page).stream()
+                    .map(r -> entry(source, r.getMarkedAt(), r.getSession().getId(),
+                            "Attendance marked for session " + r.getSession().getAttendanceCode()))
+                    .toList();
+            // Keyed on the mission id like the mission page; the creation time only orders the merge
+            case MISSION -> missionRepository.findPageByParticipantIdNewestFirst(userId, beforeKey, page).stream()
+                    .map(m -> entry(source, m.getCreatedAt(), m.getId(), "Mission \"" + m.getMissionName() + "\" assigned"))
+                    .toList();
+            case FEEDBACK -> feedbackRepository.findPageByUserNewestFirst(userId, beforeAt, beforeKey, page).stream()
+                    .map(f -> entry(source, f.getSubmittedAt(), f.getId(), "Feedback submitted: " + f.getSubject()))
+                    .toList();
+            case ANNOUNCEMENT -> announcementRepository.findSummaryPageNewestFirst(beforeAt, beforeKey, page).stream()
+                    .map(a -> entry(source, a.getPostedAt(), a.getId(), "Announcement: " + a.getTitle()))
+                    .toList();
+        };
+    }
+
+    private static Entry entry(Source source, LocalDateTime at, long key, String text) {
+        return new Entry(at, key, new ActivityItemDTO(source.type, key, text, at));
+    }
+
+    private static String describe(String description) {
+        return description == null || description.isBlank() ? "" : ": " + description;
+    }
+}
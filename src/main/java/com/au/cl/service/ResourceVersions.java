@@ -0,0 +1,177 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.ConditionalGetMetricsDTO;
+import com.au.cl.util.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Change counters behind the ETags of the dashboard read endpoints.
+ * A counter is bumped after the transaction that changed its aggregate commits, so an ETag handed out
+ * before the commit can never be paired with a body that is older than it. Every ETag starts with the
+ * boot epoch, because counters restart from zero with the application.
+ * Checking an ETag is a few map lookups: no query runs and no body is built for a 304.
+ * Per-user change stamps, bumped by every write visible to that Avenger, plus the announcement counter let delta
+ * sync skip its queries when nothing changed for the syncing Avenger.
+ */
+@Component
+public class ResourceVersions {
+
+    /**
+     * The cacheable read endpoints, for metrics.
+     */
+    public enum Resource {
+        USER_DETAILS, ANNOUNCEMENTS, MY_MISSIONS, AVENGER_ROSTER
+    }
+
+    private final String bootEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong users = new AtomicLong(); // Any user row: roster entries and mission participants
+    private final AtomicLong announcements = new AtomicLong();
+    private final Map<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> missionVersions = new ConcurrentHashMap<>(); // Keyed by participant id
+    private final Map<Long, AtomicLong> userChanges = new ConcurrentHashMap<>(); // Anything visible to that Avenger except announcements, for delta sync
+
+    private final Map<Resource, LongAdder> fullResponses = new ConcurrentHashMap<>();
+    private final Map<Resource, LongAdder> notModifiedResponses = new ConcurrentHashMap<>();
+
+    /**
+     * Records that a user row changed (balance, profile or a new registration).
+     * @param userId The user's id.
+     */
+    public void userChanged(long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+            users.incrementAndGet();
+            bump(userChanges, userId);
+        });
+    }
+
+    /**
+     * Records that an announcement was posted.
+     */
+    public void announcementsChanged() {
+        TransactionCallbacks.afterCommit(announcements::incrementAndGet);
+    }
+
+    /**
+     * Records that feedback was submitted or marked as read.
+     * @param authorIds The users who submitted the changed feedback.
+     */
+    public void feedbackChanged(Collection<Long> authorIds) {
+        changedFor(authorIds);
+    }
+
+    /**
+     * Records that attendance marks were written.
+     * @param userIds The users who were marked.
+     */
+    public void attendanceChanged(Collection<Long> userIds) {
+        changedFor(userIds);
+    }
+
+    /**
+     * Records that the mission lists of these users changed.
+     * @param participantIds The participants of the created or changed mission.
+     */
+    public void missionsChanged(Collection<Long> participantIds) {
+        List<Long> ids = List.copyOf(participantIds);
+        TransactionCallbacks.afterCommit(() -> {
+            for (Long id : ids) {
+                bump(missionVersions, id);
+                bump(userChanges, id);
+            }
+        });
+    }
+
+    /**
+     * @param userId The authenticated user's id.
+     * @return ETag of that user's details.
+     */
+    public String userDetailsETag(long userId) {
+        return etag("u" + userId, version(userVersions, userId));
+    }
+
+    /**
+     * @return ETag of the announcement list.
+     */
+    public String announcementsETag() {
+        return etag("a", announcements.get());
+    }
+
+    /**
+     * @param userId The Avenger's id.
+     * @return ETag of that Avenger's missions; participant details are embedded, so any user change counts too.
+     */
+    public String missionsETag(long userId) {
+        return etag("m" + userId, version(missionVersions, userId)) + "." + users.get();
+    }
+
+    /**
+     * @return ETag of the Avenger roster.
+     */
+    public String rosterETag() {
+        return etag("r", users.get());
+    }
+
+    /**
+     * @param userId The Avenger's id.
+     * @return Stamp of the data visible to that Avenger: equal stamps mean no such write committed in between.
+     */
+    public String changeStamp(long userId) {
+        return bootEpoch + "-" + version(userChanges, userId) + "." + announcements.get();
+    }
+
+    /**
+     * Counts one conditional GET.
+     * @param resource The endpoint.
+     * @param notModified true if a 304 was sent instead of the body.
+     */
+    public void recordResponse(Resource resource, boolean notModified) {
+        (notModified ? notModifiedResponses : fullResponses).computeIfAbsent(resource, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * @return Full vs. 304 response counts per endpoint since startup.
+     */
+    public List<ConditionalGetMetricsDTO> getMetrics() {
+        List<ConditionalGetMetricsDTO> metrics = new ArrayList<>();
+        for (Resource resource : Resource.values()) {
+            long full = sum(fullResponses, resource);
+            long notModified = sum(notModifiedResponses, resource);
+            long total = full + notModified;
+            metrics.add(new ConditionalGetMetricsDTO(resource.name(), full, notModified, total == 0 ? 0.0 : (double) notModified / total));
+        }
+        return metrics;
+    }
+
+    private void changedFor(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        TransactionCallbacks.afterCommit(() -> ids.forEach(id -> bump(userChanges, id)));
+    }
+
+    private static void bump(Map<Long, AtomicLong> versions, long id) {
+        versions.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String etag(String aggregate, long version) {
+        return bootEpoch + "-" + aggregate + "-" + version;
+    }
+
+    private static long version(Map<Long, AtomicLong> versions, long id) {
+        AtomicLong version = versions.get(id);
+        return version == null ? 0 : version.get();
+    }
+
+    private static long sum(Map<Resource, LongAdder> counters, Resource resource) {
+        LongAdder counter = counters.get(resource);
+        return counter == null ? 0 : counter.sum();
+    }
+}
@@ -0,0 +1,383 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.SearchResultDTO;
+import com.au.cl.model.Announcement;
+import com.au.cl.model.Feedback;
+import com.au.cl.model.Mission;
+import com.au.cl.repository.AnnouncementRepository;
+import com.au.cl.repository.FeedbackRepository;
+import com.au.cl.repository.MissionRepository;
+import com.au.cl.util.InvertedIndex;
+import com.au.cl.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over mission descriptions, announcement content and feedback text.
+ * The index lives in memory and is persisted as append-only segment files under
+ * {@code search.index.dir}, so a restart replays the segments instead of re-reading every row.
+ * Once replaced and removed documents make up more than {@code search.index.compact-tombstone-ratio}
+ * of the index, the segments are compacted, at startup or as soon as a write crosses the threshold.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String TYPE_MISSION = "MISSION";
+    public static final String TYPE_ANNOUNCEMENT = "ANNOUNCEMENT";
+    public static final String TYPE_FEEDBACK = "FEEDBACK";
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RESULTS = 100;
+
+    private final MissionRepository missionRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final FeedbackRepository feedbackRepository;
+
+    @Value("${search.index.dir:data/search-index}")
+    private String indexDir;
+
+    @Value("${search.index.segment-max-bytes:67108864}") // Roll to a new segment file after 64 MB
+    private long segmentMaxBytes;
+
+    @Value("${search.index.compact-tombstone-ratio:0.5}")
+    private double compactTombstoneRatio;
+
+    @Value("${search.index.compact-min-tombstones:1000}") // Small indexes are not worth rewriting at runtime
+    private int compactMinTombstones;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private DataOutputStream segmentOut;
+    private Path currentSegment;
+    private int nextSegmentNumber;
+    private boolean segmentsBehind; // A record failed to persist since the segments were last rewritten
+
+    public SearchIndexService(MissionRepository missionRepository, AnnouncementRepository announcementRepository, FeedbackRepository feedbackRepository) {
+        this.missionRepository = missionRepository;
+        this.announcementRepository = announcementRepository;
+        this.feedbackRepository = feedbackRepository;
+    }
+
+    /**
+     * Loads the persisted segments on startup, or builds the index from the database if none exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        try {
+            Path dir = Paths.get(indexDir);
+            Files.createDirectories(dir);
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                rebuildFromDatabase();
+                return;
+            }
+            long start = System.currentTimeMillis();
+            InvertedIndex loaded = new InvertedIndex();
+            for (Path segment : segments) {
+                replaySegment(segment, loaded);
+            }
+            index = loaded;
+            nextSegmentNumber = segmentNumber(segments.get(segments.size() - 1)) + 1;
+            logger.info("Search index loaded {} documents from {} segments in {} ms.", loaded.size(), segments.size(), System.currentTimeMillis() - start);
+            if (loaded.tombstoneRatio() > compactTombstoneRatio) {
+                compactSegments(segments);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load search index segments, rebuilding from database: {}", e.getMessage(), e);
+            rebuildFromDatabase();
+        }
+    }
+
+    /**
+     * Discards all segments and re-indexes every mission, announcement and feedback row.
+     */
+    public synchronized void rebuildFromDatabase() {
+        long start = System.currentTimeMillis();
+        try {
+            closeSegment();
+            for (Path segment : listSegments()) {
+                Files.delete(segment);
+            }
+            nextSegmentNumber = 0;
+            segmentsBehind = false;
+            index = new InvertedIndex();
+            missionRepository.findAll().forEach(this::putMission);
+            announcementRepository.findAll().forEach(this::putAnnouncement);
+            feedbackRepository.findAll().forEach(this::putFeedback);
+            logger.info("Search index rebuilt from database with {} documents in {} ms.", index.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild search index", e);
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) a mission once the surrounding transaction commits.
+     * @param mission The saved Mission entity.
+     */
+    public void indexMission(Mission mission) {
+        TransactionCallbacks.afterCommit(() -> putMission(mission));
+    }
+
+    /**
+     * Indexes (or re-indexes) an announcement once the surrounding transaction commits.
+     * @param announcement The saved Announcement entity.
+     */
+    public void indexAnnouncement(Announcement announcement) {
+        TransactionCallbacks.afterCommit(() -> putAnnouncement(announcement));
+    }
+
+    /**
+     * Indexes (or re-indexes) a feedback item once the surrounding transaction commits.
+     * @param feedback The saved Feedback entity.
+     */
+    public void indexFeedback(Feedback feedback) {
+        TransactionCallbacks.afterCommit(() -> putFeedback(feedback));
+    }
+
+    /**
+     * Removes a document from the index.
+     * @param type One of the TYPE_* constants.
+     * @param id The entity id.
+     */
+    public synchronized void remove(String type, long id) {
+        index.remove(type, id);
+        appendRecord(OP_REMOVE, type, id, "", "");
+        compactIfNeeded();
+    }
+
+    /**
+     * Runs a ranked query against the index.
+     * @param query Query terms; a trailing '*' makes a term a prefix match.
+     * @param type Optional type filter (MISSION, ANNOUNCEMENT, FEEDBACK).
+     * @param limit Maximum number of results (capped at 100).
+     * @return Ranked search results.
+     */
+    public List<SearchResultDTO> search(String query, String type, int limit) {
+        return index.search(query, type, Math.min(limit, MAX_RESULTS)).stream()
+                .map(hit -> new SearchResultDTO(hit.type(), hit.id(), hit.title(), hit.score()))
+                .collect(Collectors.toList());
+    }
+
+    private void putMission(Mission mission) {
+        put(TYPE_MISSION, mission.getId(), mission.getMissionName(),
+                Objects.toString(mission.getMissionName(), "") + "\n" + Objects.toString(mission.getDescription(), ""));
+    }
+
+    private void putAnnouncement(Announcement announcement) {
+        put(TYPE_ANNOUNCEMENT, announcement.getId(), announcement.getTitle(),
+                Objects.toString(announcement.getTitle(), "") + "\n" + Objects.toString(announcement.getContent(), ""));
+    }
+
+    private void putFeedback(Feedback feedback) {
+        put(TYPE_FEEDBACK, feedback.getId(), feedback.getSubject(),
+                Objects.toString(feedback.getSubject(), "") + "\n" + Objects.toString(feedback.getFeedbackText(), ""));
+    }
+
+    private synchronized void put(String type, long id, String title, String text) {
+        index.put(type, id, title, text);
+        appendRecord(OP_PUT, type, id, title, text);
+        compactIfNeeded();
+    }
+
+    // Every re-index of an edited document leaves a tombstone, so a long-running process compacts as it goes
+    private void compactIfNeeded() {
+        InvertedIndex current = index;
+        if (current.tombstoneCount() < compactMinTombstones || current.tombstoneRatio() <= compactTombstoneRatio) {
+            return;
+        }
+        if (segmentsBehind) {
+            // Reloading from segments would drop the records that failed to persist; the database has them
+            logger.warn("Search index segments are missing records, rebuilding from database instead of compacting.");
+            rebuildFromDatabase();
+            return;
+        }
+        try {
+            compactSegments(listSegments());
+        } catch (IOException e) {
+            logger.error("Failed to compact search index segments: {}", e.getMessage(), e);
+        }
+    }
+
+    // --- Segment persistence ---
+
+    private void appendRecord(byte op, String type, long id, String title, String text) {
+        try {
+            if (segmentOut == null || Files.size(currentSegment) >= segmentMaxBytes) {
+                openNextSegment();
+            }
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            segmentOut.writeByte(op);
+            segmentOut.writeUTF(type);
+            segmentOut.writeLong(id);
+            segmentOut.writeUTF(title == null ? "" : title);
+            segmentOut.writeInt(body.length);
+            segmentOut.write(body);
+            segmentOut.flush();
+        } catch (IOException e) {
+            // The in-memory index is still correct; the next rebuild will repair the segments
+            segmentsBehind = true;
+            logger.error("Failed to persist search index record {}:{}: {}", type, id, e.getMessage(), e);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        closeSegment();
+        Files.createDirectories(Paths.get(indexDir));
+        currentSegment = Paths.get(indexDir, SEGMENT_PREFIX + String.format("%06d", nextSegmentNumber++) + SEGMENT_SUFFIX);
+        segmentOut = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(currentSegment, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    private void closeSegment() throws IOException {
+        if (segmentOut != null) {
+            segmentOut.close();
+            segmentOut = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws IOException {
+        closeSegment();
+    }
+
+    private interface RecordHandler {
+        void accept(byte op, String type, long id, String title, String text) throws IOException;
+    }
+
+    private void readSegment(Path segment, RecordHandler handler) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                try {
+                    String type = in.readUTF();
+                    long id = in.readLong();
+                    String title = in.readUTF();
+                    byte[] body = new byte[in.readInt()];
+                    in.readFully(body);
+                    handler.accept(op, type, id, title, new String(body, StandardCharsets.UTF_8));
+                } catch (EOFException e) {
+                    logger.warn("Ignoring truncated record at the end of search segment {}.", segment.getFileName());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void replaySegment(Path segment, InvertedIndex target) throws IOException {
+        readSegment(segment, (op, type, id, title, text) -> {
+            if (op == OP_PUT) {
+                target.put(type, id, title, text);
+            } else {
+                target.remove(type, id);
+            }
+        });
+    }
+
+    /**
+     * Rewrites the given segments into a single segment holding only the latest live version of each document.
+     */
+    private void compactSegments(List<Path> segments) throws IOException {
+        long start = System.currentTimeMillis();
+        // Pass 1: find the ordinal of the last PUT for every document still present
+        Map<String, Long> livePutOrdinal = new HashMap<>();
+        long[] ordinal = {0};
+        for (Path segment : segments) {
+            readSegment(segment, (op, type, id, title, text) -> {
+                String key = type + ':' + id;
+                if (op == OP_PUT) {
+                    livePutOrdinal.put(key, ordinal[0]);
+                } else {
+                    livePutOrdinal.remove(key);
+                }
+                ordinal[0]++;
+            });
+        }
+
+        // Pass 2: copy just those records into a temporary segment, then swap it in
+        closeSegment();
+        Path tmp = Paths.get(indexDir, "compact.tmp");
+        ordinal[0] = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            for (Path segment : segments) {
+                readSegment(segment, (op, type, id, title, text) -> {
+                    Long live = livePutOrdinal.get(type + ':' + id);
+                    if (op == OP_PUT && live != null && live == ordinal[0]) {
+                        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+                        out.writeByte(op);
+                        out.writeUTF(type);
+                        out.writeLong(id);
+                        out.writeUTF(title);
+                        out.writeInt(body.length);
+                        out.write(body);
+                    }
+                    ordinal[0]++;
+                });
+            }
+        }
+        Path compacted = Paths.get(indexDir, SEGMENT_PREFIX + String.format("%06d", nextSegmentNumber++) + SEGMENT_SUFFIX);
+        Files.move(tmp, compacted, StandardCopyOption.ATOMIC_MOVE);
+        for (Path segment : segments) {
+            Files.delete(segment);
+        }
+
+        InvertedIndex reloaded = new InvertedIndex();
+        replaySegment(compacted, reloaded);
+        index = reloaded;
+        logger.info("Search index compacted {} segments into {} ({} documents) in {} ms.",
+                segments.size(), compacted.getFileName(), reloaded.size(), System.currentTimeMillis() - start);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        Path dir = Paths.get(indexDir);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static int segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -1,12 +1,14 @@
 package com.au.cl.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.au.cl.dto.PaymentRequest;
@@ -16,6 +18,11 @@ import com.au.cl.model.Transaction.TransactionType;
 import com.au.cl.model.User;
 import com.au.cl.repository.TransactionRepository;
 import com.au.cl.repository.UserRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.ReadCaches;
+import com.au.cl.util.ReadThroughCache;
+import com.au.cl.util.TransactionCallbacks;
 
 import jakarta.transaction.Transactional;
 
@@ -24,12 +31,29 @@ public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
+    private static final Comparator<Transaction> OLDEST_FIRST = Comparator.comparing(Transaction::getTransactionDate)
+            .thenComparing(Transaction::getId);
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final ResourceVersions resourceVersions;
+    private final DashboardSnapshot dashboardSnapshot;
+    private final UserService userService;
+
+    // An Avenger's earnings for a month; a payment clears the receiver's entries
+    private final ReadThroughCache<EarningsKey, Double> monthlyEarnings;
 
-    public TransactionService(TransactionRepository transactionRepository, UserRepository userRepository) {
+    private record EarningsKey(long userId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    public TransactionService(TransactionRepository transactionRepository, UserRepository userRepository, ResourceVersions resourceVersions,
+                              DashboardSnapshot dashboardSnapshot, UserService userService, ReadCaches readCaches) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
+        this.resourceVersions = resourceVersions;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.userService = userService;
+        this.monthlyEarnings = readCaches.create("monthly earnings");
     }
 
     /**
@@ -53,6 +77,10 @@ public class TransactionService {
         // If sender balance should be deducted, add logic here.
         receiver.setBalance(receiver.getBalance() + request.getAmount());
         userRepository.save(receiver); // Save updated receiver balance
+        userService.avengersChanged(); // The roster and mission pages show balances
+        long receiverId = receiver.getId();
+        TransactionCallbacks.afterCommit(() -> monthlyEarnings.invalidateIf(key -> key.userId() == receiverId));
+        resourceVersions.userChanged(receiver.getId());
 
         Transaction transaction = new Transaction();
         transaction.setSender(sender);
@@ -63,6 +91,7 @@ public class TransactionService {
         transaction.setTransactionDate(LocalDateTime.now()); // Ensure timestamp is set
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        dashboardSnapshot.paymentRecorded(savedTransaction.getTransactionType(), savedTransaction.getTransactionDate(), savedTransaction.getAmount());
         logger.info("Payment of {} {} from {} to {} recorded successfully. Receiver new balance: {}",
                 request.getAmount(), request.getTransactionType(), sender.getUsername(), receiver.getUsername(), receiver.getBalance());
 
@@ -70,39 +99,85 @@ public class TransactionService {
     }
 
     /**
-     * Retrieves all transactions, ordered by date descending (for admin).
-     * @return List of TransactionDTOs.
+     * Retrieves one page of transactions, ordered by date descending (for admin).
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of TransactionDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<TransactionDTO> getAllTransactions() {
-        return transactionRepository.findAllByOrderByTransactionDateDesc().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<TransactionDTO> getTransactionPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        return CursorPage.of(transactionRepository.findPageNewestFirst(after.timestamp(0), after.id(1), PageRequest.ofSize(limit + 1)),
+                limit, transaction -> Cursor.encode(transaction.getTransactionDate(), transaction.getId()), this::convertToDto);
     }
 
     /**
-     * Calculates the total amount of transactions of a specific type within a date range.
-     * @param type The type of transaction (e.g., SALARY).
-     * @param startDate The start date (inclusive).
-     * @param endDate The end date (inclusive).
-     * @return The total amount.
+     * @return Total number of transactions.
      */
-    public double getTotalPaymentsBetween(TransactionType type, LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByTransactionTypeAndTransactionDateBetween(type, startDate, endDate)
-                .stream()
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    public long countTransactions() {
+        return transactionRepository.count();
+    }
+
+    /**
+     * Retrieves one page of transaction history for a specific Avenger (where they are sender or receiver), newest first.
+     * @param avengerUser The Avenger user.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of TransactionDTOs for the given Avenger.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<TransactionDTO> getTransactionsForAvenger(User avengerUser, String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, Cursor.LATEST, Long.MAX_VALUE);
+        // One keyset read per side, each on its own (user, date, id) index, merged here instead of one OR query
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<Transaction> sent = transactionRepository.findSentPageNewestFirst(avengerUser.getId(), after.timestamp(0), after.id(1), page);
+        List<Transaction> received = transactionRepository.findReceivedPageNewestFirst(avengerUser.getId(), after.timestamp(0), after.id(1), page);
+        return CursorPage.of(merge(sent, received, limit + 1, OLDEST_FIRST.reversed()),
+                limit, transaction -> Cursor.encode(transaction.getTransactionDate(), transaction.getId()), this::convertToDto);
+    }
+
+    // Merges two lists sorted in the given order into the first `rows` of their union; a payment to oneself is in both
+    private static List<Transaction> merge(List<Transaction> a, List<Transaction> b, int rows, Comparator<Transaction> order) {
+        List<Transaction> merged = new ArrayList<>(Math.min(rows, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < rows && (i < a.size() || j < b.size())) {
+            Transaction next;
+            if (j == b.size() || (i < a.size() && order.compare(a.get(i), b.get(j)) <= 0)) {
+                next = a.get(i++);
+            } else {
+                next = b.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
     }
 
     /**
-     * Retrieves transaction history for a specific Avenger (where they are sender or receiver).
+     * Retrieves the transactions an Avenger sent or received after a point in time, oldest first.
      * @param avengerUser The Avenger user.
-     * @return List of TransactionDTOs for the given Avenger.
+     * @param since Transactions strictly after this instant are returned.
+     * @param limit The maximum number of rows.
+     * @return The new TransactionDTOs.
      */
-    public List<TransactionDTO> getTransactionsForAvenger(User avengerUser) {
-        // Find transactions where the user is either the sender or the receiver
-        return transactionRepository.findBySenderOrReceiverOrderByTransactionDateDesc(avengerUser, avengerUser).stream()
+    public List<TransactionDTO> getTransactionsSince(User avengerUser, LocalDateTime since, int limit) {
+        // Two range reads on the per-side indexes, so only this Avenger's new rows are read
+        PageRequest page = PageRequest.ofSize(limit);
+        List<Transaction> sent = transactionRepository.findSentSince(avengerUser.getId(), since, page);
+        List<Transaction> received = transactionRepository.findReceivedSince(avengerUser.getId(), since, page);
+        return merge(sent, received, limit, OLDEST_FIRST).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * @param avengerUser The Avenger user.
+     * @return Number of transactions the Avenger sent or received.
+     */
+    public long countTransactionsForAvenger(User avengerUser) {
+        return transactionRepository.countForUser(avengerUser.getId());
     }
 
     /**
@@ -125,10 +200,11 @@ public class TransactionService {
      * @return Total amount received.
      */
     public double getMonthlyEarningsForAvenger(User avengerUser, LocalDateTime startOfMonth, LocalDateTime endOfMonth) {
-        return transactionRepository.findByReceiverAndTransactionDateBetween(avengerUser, startOfMonth, endOfMonth)
+        return monthlyEarnings.get(new EarningsKey(avengerUser.getId(), startOfMonth, endOfMonth),
+                () -> transactionRepository.findByReceiverAndTransactionDateBetween(avengerUser, startOfMonth, endOfMonth)
                 .stream()
                 .mapToDouble(Transaction::getAmount)
-                .sum();
+                .sum());
     }
 
     /**
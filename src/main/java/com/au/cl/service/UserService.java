@@ -2,14 +2,24 @@ package com.au.cl.service;
 
 import com.au.cl.dto.ProfileUpdateRequest; // Import new DTO
 import com.au.cl.dto.UserDTO;
+import com.au.cl.model.Role;
 import com.au.cl.model.User;
 import com.au.cl.repository.UserRepository;
+import com.au.cl.util.Cursor;
+import com.au.cl.util.CursorPage;
+import com.au.cl.util.ReadCaches;
+import com.au.cl.util.ReadThroughCache;
+import com.au.cl.util.ReadThroughCache.PageKey;
+import com.au.cl.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,10 +29,21 @@ public class UserService { // This is a new service for general user business lo
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameIndex usernameIndex;
+    private final ResourceVersions resourceVersions;
+    private final MissionService missionService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    // Avenger roster pages, cleared by avengersChanged()
+    private final ReadThroughCache<PageKey, CursorPage<UserDTO>> avengerPages;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UsernameIndex usernameIndex,
+                       ResourceVersions resourceVersions, MissionService missionService, ReadCaches readCaches) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameIndex = usernameIndex;
+        this.resourceVersions = resourceVersions;
+        this.missionService = missionService;
+        this.avengerPages = readCaches.create("avenger pages");
     }
 
     /**
@@ -34,6 +55,56 @@ public class UserService { // This is a new service for general user business lo
         return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getBalance(), user.getAlive());
     }
 
+    /**
+     * Builds the details map returned by /api/user/details.
+     * @param user The authenticated User entity.
+     * @return Its non-sensitive fields, as strings.
+     */
+    public Map<String, String> getUserDetails(User user) {
+        Map<String, String> userDetails = new HashMap<>();
+        userDetails.put("id", user.getId().toString());
+        userDetails.put("username", user.getUsername());
+        userDetails.put("role", user.getRole().name());
+        userDetails.put("email", user.getEmail());
+        userDetails.put("isAlive", String.valueOf(user.getAlive()));
+        userDetails.put("balance", String.valueOf(user.getBalance()));
+        return userDetails;
+    }
+
+    /**
+     * Retrieves one page of Avengers in id order.
+     * @param cursor The cursor of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return Page of UserDTOs.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<UserDTO> getAvengerPage(String cursor, int limit) {
+        return avengerPages.get(new PageKey(cursor, limit), () -> loadAvengerPage(cursor, limit));
+    }
+
+    /**
+     * Clears cached reads that show Avenger details, once the current transaction commits.
+     * Call after an Avenger is registered or their username, email or balance changes, before
+     * {@link ResourceVersions#userChanged(long)}, so the roster ETag is never newer than a cached page.
+     */
+    public void avengersChanged() {
+        TransactionCallbacks.afterCommit(avengerPages::invalidateAll);
+        missionService.participantsChanged();
+    }
+
+    private CursorPage<UserDTO> loadAvengerPage(String cursor, int limit) {
+        Cursor after = Cursor.parse(cursor, 0L);
+        return CursorPage.of(userRepository.findPageByRole(Role.AVENGER, after.id(0), PageRequest.ofSize(limit + 1)),
+                limit, user -> Cursor.encode(user.getId()), this::getUserDTO);
+    }
+
+    /**
+     * @return Total number of Avengers.
+     */
+    public long countAvengers() {
+        return userRepository.countByRole(Role.AVENGER);
+    }
+
     /**
      * Updates an Avenger's profile.
      * @param user The authenticated Avenger user.
@@ -50,6 +121,8 @@ public class UserService { // This is a new service for general user business lo
             }
         }
 
+        String previousUsername = user.getUsername();
+
         // Update fields. Note: 'fullName', 'heroAlias', 'bio', 'skills' are not in User model by default.
         // If these are not mapped to your User entity, they will be ignored or require User model extension.
         user.setUsername(request.getFullName()); // Assuming fullName maps to username for now
@@ -62,6 +135,12 @@ public class UserService { // This is a new service for general user business lo
         // user.setSkills(request.getSkills());
 
         User updatedUser = userRepository.save(user);
+        long userId = updatedUser.getId();
+        String newUsername = updatedUser.getUsername();
+        // Only once the rename is durable: a failed commit (e.g. a unique-key violation at flush) must not leave it in the index
+        TransactionCallbacks.afterCommit(() -> usernameIndex.rename(userId, previousUsername, newUsername));
+        avengersChanged();
+        resourceVersions.userChanged(updatedUser.getId());
         logger.info("Avenger profile updated for user: {}", updatedUser.getUsername());
         return getUserDTO(updatedUser);
     }
@@ -0,0 +1,157 @@
+package com.au.cl.service;
+
+import com.au.cl.dto.UsernameSuggestionDTO;
+import com.au.cl.model.Role;
+import com.au.cl.model.User;
+import com.au.cl.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sorted-array index of Avenger usernames for prefix autocomplete.
+ * Readers binary-search an immutable snapshot without locking; the rare writes
+ * (registration, profile rename) publish a new snapshot copy.
+ */
+@Component
+public class UsernameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private final UserRepository userRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0], new long[0]);
+
+    /**
+     * Parallel arrays sorted by lower-cased username.
+     */
+    private record Snapshot(String[] keys, String[] usernames, long[] ids) {
+    }
+
+    public UsernameIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Loads every Avenger username once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<User> avengers = new ArrayList<>(userRepository.findByRole(Role.AVENGER));
+        avengers.sort(Comparator.comparing(u -> u.getUsername().toLowerCase(Locale.ROOT)));
+        int size = avengers.size();
+        String[] keys = new String[size];
+        String[] usernames = new String[size];
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            User user = avengers.get(i);
+            keys[i] = user.getUsername().toLowerCase(Locale.ROOT);
+            usernames[i] = user.getUsername();
+            ids[i] = user.getId();
+        }
+        snapshot = new Snapshot(keys, usernames, ids);
+        logger.info("Username index loaded with {} Avengers.", size);
+    }
+
+    /**
+     * Adds a newly registered Avenger.
+     * @param id The user id.
+     * @param username The username.
+     */
+    public synchronized void add(long id, String username) {
+        Snapshot current = snapshot;
+        String key = username.toLowerCase(Locale.ROOT);
+        int pos = lowerBound(current.keys(), key);
+        int size = current.keys().length;
+        String[] keys = new String[size + 1];
+        String[] usernames = new String[size + 1];
+        long[] ids = new long[size + 1];
+        System.arraycopy(current.keys(), 0, keys, 0, pos);
+        System.arraycopy(current.usernames(), 0, usernames, 0, pos);
+        System.arraycopy(current.ids(), 0, ids, 0, pos);
+        keys[pos] = key;
+        usernames[pos] = username;
+        ids[pos] = id;
+        System.arraycopy(current.keys(), pos, keys, pos + 1, size - pos);
+        System.arraycopy(current.usernames(), pos, usernames, pos + 1, size - pos);
+        System.arraycopy(current.ids(), pos, ids, pos + 1, size - pos);
+        snapshot = new Snapshot(keys, usernames, ids);
+    }
+
+    /**
+     * Removes a user from the index.
+     * @param id The user id.
+     * @param username The username currently indexed for that id.
+     */
+    public synchronized void remove(long id, String username) {
+        Snapshot current = snapshot;
+        String key = username.toLowerCase(Locale.ROOT);
+        int size = current.keys().length;
+        for (int pos = lowerBound(current.keys(), key); pos < size && current.keys()[pos].equals(key); pos++) {
+            if (current.ids()[pos] == id) {
+                String[] keys = new String[size - 1];
+                String[] usernames = new String[size - 1];
+                long[] ids = new long[size - 1];
+                System.arraycopy(current.keys(), 0, keys, 0, pos);
+                System.arraycopy(current.usernames(), 0, usernames, 0, pos);
+                System.arraycopy(current.ids(), 0, ids, 0, pos);
+                System.arraycopy(current.keys(), pos + 1, keys, pos, size - pos - 1);
+                System.arraycopy(current.usernames(), pos + 1, usernames, pos, size - pos - 1);
+                System.arraycopy(current.ids(), pos + 1, ids, pos, size - pos - 1);
+                snapshot = new Snapshot(keys, usernames, ids);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a user after a username change.
+     * @param id The user id.
+     * @param oldUsername The previous username.
+     * @param newUsername The new username.
+     */
+    public synchronized void rename(long id, String oldUsername, String newUsername) {
+        if (oldUsername.equals(newUsername)) {
+            return;
+        }
+        remove(id, oldUsername);
+        add(id, newUsername);
+    }
+
+    /**
+     * Returns up to {@code limit} usernames starting with the given prefix (case-insensitive), in alphabetical order.
+     * @param prefix The typed prefix.
+     * @param limit Maximum number of suggestions.
+     * @return Matching suggestions.
+     */
+    public List<UsernameSuggestionDTO> complete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String key = prefix.toLowerCase(Locale.ROOT);
+        List<UsernameSuggestionDTO> matches = new ArrayList<>(Math.min(limit, 16));
+        for (int pos = lowerBound(current.keys(), key);
+             pos < current.keys().length && matches.size() < limit && current.keys()[pos].startsWith(key); pos++) {
+            matches.add(new UsernameSuggestionDTO(current.ids()[pos], current.usernames()[pos]));
+        }
+        return matches;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int pos = Arrays.binarySearch(keys, key);
+        if (pos < 0) {
+            return -pos - 1;
+        }
+        // Walk back over duplicates so callers see the first equal key
+        while (pos > 0 && keys[pos - 1].equals(key)) {
+            pos--;
+        }
+        return pos;
+    }
+}
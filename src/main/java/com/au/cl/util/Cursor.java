@@ -0,0 +1,102 @@
+package com.au.cl.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset-pagination cursor: the sort key of the last row of a page, base64url-encoded.
+ * Clients only echo it back; the service that issued it knows which parts are timestamps and which are ids.
+ */
+public final class Cursor {
+
+    /**
+     * Starting point of a newest-first page: later than any stored timestamp (and within MySQL's DATETIME range).
+     */
+    public static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String SEPARATOR = "|";
+
+    private final String[] parts;
+
+    private Cursor(String[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @param keys The sort key values of the last row (timestamps and ids).
+     * @return The encoded cursor.
+     */
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token The cursor sent by the client, or null for the first page.
+     * @param firstPageKeys The sort key to start from when no cursor was sent; also fixes the number of key parts.
+     * @return The decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed or was issued for a different sort key.
+     */
+    public static Cursor parse(String token, Object... firstPageKeys) {
+        if (token == null || token.isBlank()) {
+            String[] parts = new String[firstPageKeys.length];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = String.valueOf(firstPageKeys[i]);
+            }
+            return new Cursor(parts);
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != firstPageKeys.length) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return new Cursor(parts);
+    }
+
+    /**
+     * @param index The key part.
+     * @return That part as sent.
+     */
+    public String text(int index) {
+        return parts[index];
+    }
+
+    /**
+     * @param index The key part.
+     * @return That part as a timestamp.
+     * @throws IllegalArgumentException if it is not one.
+     */
+    public LocalDateTime timestamp(int index) {
+        try {
+            return LocalDateTime.parse(parts[index]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    /**
+     * @param index The key part.
+     * @return That part as an id.
+     * @throws IllegalArgumentException if it is not one.
+     */
+    public long id(int index) {
+        try {
+            return Long.parseLong(parts[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
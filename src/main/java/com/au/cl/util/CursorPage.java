@@ -0,0 +1,39 @@
+package com.au.cl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ * @param items The rows of this page.
+ * @param nextCursor Cursor of the following page, or null if this is the last one.
+ * @param <T> The row type.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows: the extra row only tells whether there is a next page.
+     * @param rows The fetched rows, in sort order.
+     * @param limit The page size.
+     * @param cursorOf Encodes the sort key of a row.
+     * @param mapper Converts a row to its DTO.
+     * @return The page.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, String> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        List<T> items = new ArrayList<>(page.size());
+        for (E row : page) {
+            items.add(mapper.apply(row));
+        }
+        return new CursorPage<>(items, hasMore && !page.isEmpty() ? cursorOf.apply(page.get(page.size() - 1)) : null);
+    }
+
+    /**
+     * Same as {@link #of(List, int, Function, Function)} for rows that are already DTOs.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        return of(rows, limit, cursorOf, Function.identity());
+    }
+}
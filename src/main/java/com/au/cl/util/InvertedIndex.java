@@ -0,0 +1,283 @@
+package com.au.cl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking and prefix expansion.
+ * Documents are identified by a (type, id) pair; re-adding a document replaces the previous version.
+ * Replaced and removed documents are tombstoned rather than purged from the postings lists.
+ * Thread-safe: searches share a read lock, mutations take the write lock.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "was", "were", "with");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted so that prefix queries become a range scan over the term dictionary
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final List<DocEntry> docs = new ArrayList<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long totalLiveLength;
+    private int liveCount;
+
+    /**
+     * A single ranked hit.
+     */
+    public record Hit(String type, long id, String title, float score) {
+    }
+
+    private record DocEntry(String type, long id, String title, int length) {
+    }
+
+    /**
+     * Growable parallel arrays of (docId, term frequency).
+     */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int docId, int freq) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    /**
+     * Splits text into lower-cased alphanumeric tokens, dropping stop words and one-letter tokens.
+     * @param text The text to tokenize (may be null).
+     * @return The tokens in document order.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds or replaces a document.
+     * @param type The document type (e.g. MISSION).
+     * @param id The entity id.
+     * @param title The title returned with hits.
+     * @param text The full text to index (title is not indexed implicitly).
+     */
+    public void put(String type, long id, String title, String text) {
+        List<String> tokens = tokenize(text);
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String token : tokens) {
+            freqs.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key(type, id));
+            int docId = docs.size();
+            docs.add(new DocEntry(type, id, title, tokens.size()));
+            docIdsByKey.put(key(type, id), docId);
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(docId, entry.getValue());
+            }
+            totalLiveLength += tokens.size();
+            liveCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document if present.
+     * @param type The document type.
+     * @param id The entity id.
+     */
+    public void remove(String type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String key) {
+        Integer previous = docIdsByKey.remove(key);
+        if (previous != null) {
+            deleted.set(previous);
+            totalLiveLength -= docs.get(previous).length();
+            liveCount--;
+        }
+    }
+
+    /**
+     * Runs a ranked query. Every query term must be present in a hit (AND semantics);
+     * a term ending in '*' matches every indexed term that starts with it.
+     * @param query The raw query string.
+     * @param typeFilter Restricts hits to one document type, or null for all types.
+     * @param limit Maximum number of hits to return.
+     * @return Hits ordered by descending score.
+     */
+    public List<Hit> search(String query, String typeFilter, int limit) {
+        List<String> rawTerms = new ArrayList<>();
+        for (String part : query.trim().split("\\s+")) {
+            boolean prefix = part.endsWith("*");
+            List<String> tokens = tokenize(prefix ? part.substring(0, part.length() - 1) : part);
+            for (int i = 0; i < tokens.size(); i++) {
+                // Only the last token of a starred word keeps the prefix marker
+                rawTerms.add(prefix && i == tokens.size() - 1 ? tokens.get(i) + "*" : tokens.get(i));
+            }
+        }
+        if (rawTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float avgLength = Math.max(1f, (float) totalLiveLength / liveCount);
+            Map<Integer, float[]> scores = new HashMap<>();
+            for (int termIndex = 0; termIndex < rawTerms.size(); termIndex++) {
+                String term = rawTerms.get(termIndex);
+                Map<String, Postings> matches = term.endsWith("*")
+                        ? terms.subMap(term.substring(0, term.length() - 1), true, term.substring(0, term.length() - 1) + Character.MAX_VALUE, true)
+                        : singleTerm(term);
+                Map<Integer, Float> termScores = new HashMap<>();
+                for (Postings postings : matches.values()) {
+                    float idf = (float) Math.log(1 + (liveCount - postings.size + 0.5) / (postings.size + 0.5));
+                    for (int i = 0; i < postings.size; i++) {
+                        int docId = postings.docIds[i];
+                        if (deleted.get(docId)) {
+                            continue;
+                        }
+                        DocEntry doc = docs.get(docId);
+                        if (typeFilter != null && !typeFilter.equals(doc.type())) {
+                            continue;
+                        }
+                        int tf = postings.freqs[i];
+                        float score = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * doc.length() / avgLength));
+                        termScores.merge(docId, score, Float::sum);
+                    }
+                }
+                if (termIndex == 0) {
+                    termScores.forEach((docId, score) -> scores.put(docId, new float[]{score, 1}));
+                } else {
+                    final int matchedTerms = termIndex;
+                    termScores.forEach((docId, score) -> {
+                        float[] acc = scores.get(docId);
+                        if (acc != null && acc[1] == matchedTerms) {
+                            acc[0] += score;
+                            acc[1]++;
+                        }
+                    });
+                }
+            }
+
+            int required = rawTerms.size();
+            PriorityQueue<Map.Entry<Integer, float[]>> top = new PriorityQueue<>(Comparator.comparingDouble(e -> e.getValue()[0]));
+            for (Map.Entry<Integer, float[]> entry : scores.entrySet()) {
+                if (entry.getValue()[1] < required) {
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Integer, float[]> entry = top.poll();
+                DocEntry doc = docs.get(entry.getKey());
+                hits.add(new Hit(doc.type(), doc.id(), doc.title(), entry.getValue()[0]));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Postings> singleTerm(String term) {
+        Postings postings = terms.get(term);
+        return postings == null ? Map.of() : Map.of(term, postings);
+    }
+
+    /**
+     * @return Number of live (non-tombstoned) documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of stored document slots that are tombstones.
+     */
+    public int tombstoneCount() {
+        lock.readLock().lock();
+        try {
+            return docs.size() - liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Fraction of stored document slots that are tombstones.
+     */
+    public double tombstoneRatio() {
+        lock.readLock().lock();
+        try {
+            return docs.isEmpty() ? 0.0 : (double) (docs.size() - liveCount) / docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String key(String type, long id) {
+        return type + ':' + id;
+    }
+}
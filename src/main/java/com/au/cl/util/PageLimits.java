@@ -0,0 +1,37 @@
+package com.au.cl.util;
+
+import com.au.cl.dto.PageQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-side page size limits for the cursor-paginated list endpoints.
+ */
+@Component
+public class PageLimits {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int unpagedMaxSize;
+
+    public PageLimits(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                      @Value("${pagination.max-page-size:200}") int maxPageSize,
+                      @Value("${pagination.unpaged-max-size:5000}") int unpagedMaxSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.unpagedMaxSize = unpagedMaxSize;
+    }
+
+    /**
+     * @param query The request's paging parameters.
+     * @return The number of rows to return: the requested limit clamped to the maximum page size, or the unpaged
+     *         ceiling for clients that opted in. A truncated unpaged list still carries a next cursor.
+     */
+    public int resolve(PageQuery query) {
+        if (query.isUnpaged()) {
+            return unpagedMaxSize;
+        }
+        Integer requested = query.getLimit();
+        return requested == null ? defaultPageSize : Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
@@ -0,0 +1,189 @@
+package com.au.cl.util;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only queries concurrently, so an endpoint waits for the slowest of them instead of their sum.
+ * Each call runs on a pooled thread in its own read-only transaction, and therefore on its own pooled connection;
+ * lazy associations touched while mapping rows to DTOs load inside that transaction.
+ * A call that fails or exceeds its timeout yields its fallback value and is reported, leaving the others intact.
+ * The pool is bounded; when it and its queue are full, calls run on the caller's thread.
+ */
+@Component
+public class QueryFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryFanOut.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long defaultTimeoutMs;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public QueryFanOut(PlatformTransactionManager transactionManager,
+                       @Value("${fanout.parallelism:4}") int parallelism,
+                       @Value("${fanout.queue-capacity:64}") int queueCapacity,
+                       @Value("${fanout.timeout-ms:2000}") long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "query-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param label Names the batch in latency logs.
+     * @return A new batch; submit its calls, then {@link Batch#await()} it.
+     */
+    public Batch batch(String label) {
+        return new Batch(label);
+    }
+
+    /**
+     * One query of a batch.
+     * @param <T> The result type.
+     */
+    public static final class Call<T> {
+        private final String name;
+        private final T fallback;
+        private final long timeoutNanos;
+        private CompletableFuture<T> future;
+        private volatile long elapsedNanos = -1; // Set when the query finishes, successfully or not
+        private T value;
+        private boolean failed;
+
+        private Call(String name, T fallback, long timeoutNanos) {
+            this.name = name;
+            this.fallback = fallback;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        /**
+         * @return The query result, or the fallback if it failed or timed out. Only valid after the batch was awaited.
+         */
+        public T get() {
+            return value;
+        }
+
+        /**
+         * @return Whether this call fell back.
+         */
+        public boolean failed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Calls submitted together and awaited together.
+     */
+    public final class Batch {
+        private final String label;
+        private final long startNanos = System.nanoTime();
+        private final List<Call<?>> calls = new ArrayList<>();
+
+        private Batch(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Starts a call with the default timeout.
+         * @see #submit(String, Supplier, Object, long)
+         */
+        public <T> Call<T> submit(String name, Supplier<T> query, T fallback) {
+            return submit(name, query, fallback, defaultTimeoutMs);
+        }
+
+        /**
+         * Starts a call.
+         * @param name Names the call in the list of failed calls and in logs.
+         * @param query The read-only query; it must not depend on the caller's transaction or thread-bound state.
+         * @param fallback The value used if the query fails or times out.
+         * @param timeoutMs How long after the batch started the call may take.
+         * @return The call, whose result is available once the batch has been awaited.
+         */
+        public <T> Call<T> submit(String name, Supplier<T> query, T fallback, long timeoutMs) {
+            Call<T> call = new Call<>(name, fallback, TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+            call.future = CompletableFuture.supplyAsync(() -> {
+                long callStart = System.nanoTime();
+                try {
+                    return readOnlyTransaction.execute(status -> query.get());
+                } finally {
+                    call.elapsedNanos = System.nanoTime() - callStart;
+                }
+            }, executor);
+            calls.add(call);
+            return call;
+        }
+
+        /**
+         * Waits for every call up to its timeout; calls still running then are abandoned (their queries run to completion) and fall back.
+         * @return The names of the calls that fell back, empty if every result is complete.
+         */
+        public List<String> await() {
+            List<String> failedCalls = new ArrayList<>();
+            for (Call<?> call : calls) {
+                if (!resolve(call)) {
+                    failedCalls.add(call.name);
+                }
+            }
+            long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (logger.isDebugEnabled()) {
+                StringBuilder timings = new StringBuilder();
+                for (Call<?> call : calls) {
+                    long elapsed = call.elapsedNanos;
+                    timings.append(' ').append(call.name).append('=')
+                            .append(elapsed < 0 ? "unfinished" : TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+                }
+                logger.debug("Fan-out '{}' finished in {} ms ({} calls:{}).", label, totalMs, calls.size(), timings);
+            }
+            if (!failedCalls.isEmpty()) {
+                logger.warn("Fan-out '{}' returned partial results after {} ms; fell back for {}.", label, totalMs, failedCalls);
+            }
+            return failedCalls;
+        }
+
+        private <T> boolean resolve(Call<T> call) {
+            long remaining = startNanos + call.timeoutNanos - System.nanoTime();
+            try {
+                call.value = call.future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                call.future.cancel(true);
+                logger.warn("Fan-out '{}': call '{}' timed out.", label, call.name);
+            } catch (ExecutionException e) {
+                logger.warn("Fan-out '{}': call '{}' failed: {}", label, call.name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.future.cancel(true);
+            }
+            call.value = call.fallback;
+            call.failed = true;
+            return false;
+        }
+    }
+}
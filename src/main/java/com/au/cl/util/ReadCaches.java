@@ -0,0 +1,74 @@
+package com.au.cl.util;
+
+import com.au.cl.dto.CacheMetricsDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the services' {@link ReadThroughCache}s and owns what they share: the bounded pool running
+ * stale-entry refreshes, each in its own read-only transaction, and the list reported by the metrics endpoint.
+ */
+@Component
+public class ReadCaches {
+
+    private final ThreadPoolExecutor refreshExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlMs;
+    private final long staleMs;
+    private final int maxEntries;
+    private final List<ReadThroughCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public ReadCaches(PlatformTransactionManager transactionManager,
+                      @Value("${cache.ttl-ms:5000}") long ttlMs,
+                      @Value("${cache.stale-ms:30000}") long staleMs,
+                      @Value("${cache.max-entries:200}") int maxEntries,
+                      @Value("${cache.refresh-threads:2}") int refreshThreads) {
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        this.maxEntries = maxEntries;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        AtomicInteger threadCount = new AtomicInteger();
+        // A full queue rejects the refresh and the stale value keeps being served; refreshes never run on request threads
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxEntries), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Creates a cache with the configured TTL, stale window and size bound.
+     * @param name Names the cache in metrics and logs.
+     * @return The new cache.
+     */
+    public <K, V> ReadThroughCache<K, V> create(String name) {
+        ReadThroughCache<K, V> cache = new ReadThroughCache<>(name, ttlMs, staleMs, maxEntries, refreshExecutor,
+                loader -> () -> readOnlyTransaction.execute(status -> loader.get()));
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * @return Per-cache counters since startup.
+     */
+    public List<CacheMetricsDTO> getMetrics() {
+        return caches.stream().map(ReadThroughCache::getMetrics).toList();
+    }
+}
@@ -0,0 +1,239 @@
+package com.au.cl.util;
+
+import com.au.cl.dto.CacheMetricsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded in-memory cache in front of an expensive read, created through {@link ReadCaches}.
+ * <ul>
+ *     <li>Concurrent misses for the same key share one load: the first caller runs it, the others wait for its result.</li>
+ *     <li>An entry older than the TTL but still within the stale window is served as is while one background refresh reloads it.</li>
+ *     <li>Beyond the stale window an entry is dropped and the next read is a miss; past the size bound the oldest entry is evicted.</li>
+ *     <li>Write paths invalidate after commit, before bumping the ETag versions of the data. A load that was running when
+ *     an invalidation happened still answers the callers that joined it earlier, but it is not stored and later misses
+ *     start a fresh load instead of joining it, so a value read before the write is never handed out after the invalidation.</li>
+ * </ul>
+ * Failed loads are not cached.
+ * @param <K> The key type; must have value equality.
+ * @param <V> The cached value type; cached values are shared between callers and must not be modified.
+ */
+public final class ReadThroughCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadThroughCache.class);
+
+    private final String name;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final UnaryOperator<Supplier<V>> backgroundLoad;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // Bumped by every invalidation
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collapsedMisses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    // A running load and the invalidation generation it started in; only callers of the same or an older generation may join it
+    private record Load<V>(long generation, CompletableFuture<V> result) {
+    }
+
+    /**
+     * Key of a cached keyset page.
+     * @param cursor The cursor the page was requested with, or null for the first page.
+     * @param limit The page size.
+     */
+    public record PageKey(String cursor, int limit) {
+    }
+
+    ReadThroughCache(String name, long ttlMs, long staleMs, int maxEntries, Executor refreshExecutor,
+                     UnaryOperator<Supplier<V>> backgroundLoad) {
+        this.name = name;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMs);
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.backgroundLoad = backgroundLoad;
+    }
+
+    /**
+     * Returns the cached value for a key, loading it on a miss.
+     * @param key The cache key; it must identify everything the loader reads.
+     * @param loader Reads the value from the database. On a miss it runs on the caller's thread; a stale-entry
+     *               refresh runs it in a read-only transaction on a background thread.
+     * @return The cached or freshly loaded value.
+     * @throws RuntimeException whatever the loader threw, also to callers that waited for the same load.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAt();
+            if (age < ttlNanos) {
+                hits.increment();
+                return entry.value();
+            }
+            if (age < ttlNanos + staleNanos) {
+                staleHits.increment();
+                refreshInBackground(key, loader, entry.value());
+                return entry.value();
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+
+        Load<V> load = new Load<>(generation.get(), new CompletableFuture<>());
+        Load<V> joined = loading.compute(key, (k, running) -> running != null && running.generation() >= load.generation() ? running : load);
+        if (joined != load) {
+            collapsedMisses.increment();
+            return await(joined.result());
+        }
+        return load(key, loader, load);
+    }
+
+    /**
+     * Drops one entry; call after commit.
+     * @param key The cache key.
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.remove(key);
+    }
+
+    /**
+     * Drops every entry whose key matches; call after commit.
+     * @param keys Selects the keys to drop.
+     */
+    public void invalidateIf(Predicate<K> keys) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.keySet().removeIf(keys);
+    }
+
+    /**
+     * Drops every entry; call after commit.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.clear();
+    }
+
+    /**
+     * @return Hit, miss, load and eviction counts since startup.
+     */
+    public CacheMetricsDTO getMetrics() {
+        long fresh = hits.sum();
+        long stale = staleHits.sum();
+        long missed = misses.sum();
+        long reads = fresh + stale + missed;
+        return new CacheMetricsDTO(name, entries.size(), fresh, stale, missed, collapsedMisses.sum(), loads.sum(),
+                loadFailures.sum(), refreshes.sum(), evictions.sum(), invalidations.sum(),
+                reads == 0 ? 0.0 : (double) (fresh + stale) / reads);
+    }
+
+    // Runs a load this thread registered in `loading`, publishing its outcome to callers waiting on the same key
+    private V load(K key, Supplier<V> loader, Load<V> load) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            store(key, value, load.generation());
+            load.result().complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            load.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    // At most one refresh per key runs at a time; if the pool is saturated the stale value is simply served again
+    private void refreshInBackground(K key, Supplier<V> loader, V staleValue) {
+        Load<V> refresh = new Load<>(generation.get(), new CompletableFuture<>());
+        if (loading.compute(key, (k, running) -> running != null && running.generation() >= refresh.generation() ? running : refresh) != refresh) {
+            return;
+        }
+        refreshes.increment();
+        Supplier<V> transactionalLoader = backgroundLoad.apply(loader);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, transactionalLoader, refresh);
+                } catch (RuntimeException e) {
+                    logger.warn("Cache '{}': background refresh failed: {}", name, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, refresh);
+            refresh.result().complete(staleValue); // For a miss that joined this refresh after the entry expired
+        }
+    }
+
+    private void store(K key, V value, long startGeneration) {
+        if (generation.get() != startGeneration) {
+            return; // Invalidated while loading: the value may predate the write
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (generation.get() != startGeneration) {
+            entries.remove(key); // An invalidation raced with the put
+            return;
+        }
+        while (entries.size() > maxEntries) {
+            evictOldest();
+        }
+    }
+
+    // Linear scan: caches hold at most a few hundred entries and this only runs when one is added past the bound
+    private void evictOldest() {
+        K oldestKey = null;
+        long oldestLoadedAt = 0;
+        for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+            long loadedAt = candidate.getValue().loadedAt();
+            if (oldestKey == null || loadedAt - oldestLoadedAt < 0) {
+                oldestKey = candidate.getKey();
+                oldestLoadedAt = loadedAt;
+            }
+        }
+        if (oldestKey != null && entries.remove(oldestKey) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.au.cl.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fans Server-Sent Events out to the subscribers of a topic without blocking the publisher.
+ * Every subscriber has its own bounded queue drained by at most one task at a time on the shared
+ * executor, so a slow client only delays itself; a client whose queue overflows is disconnected.
+ * @param <K> The topic key type.
+ */
+public class SseFanout<K> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseFanout.class);
+
+    private final String name;
+    private final Executor executor;
+    private final int queueCapacity;
+    private final long emitterTimeoutMs;
+
+    // Compared by identity; a private instance so no built event payload can ever be mistaken for it
+    private static final Set<DataWithMediaType> END_OF_STREAM = Collections.unmodifiableSet(new HashSet<>());
+
+    private final Map<K, Set<Subscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+
+    public SseFanout(String name, Executor executor, int queueCapacity, long emitterTimeoutMs) {
+        this.name = name;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    /**
+     * Subscribes a new client to a topic.
+     * @param topic The topic.
+     * @param initialEvents Events delivered to this subscriber only, before anything published later.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(K topic, List<SseEventBuilder> initialEvents) {
+        return subscribe(topic, initialEvents, () -> true);
+    }
+
+    /**
+     * Subscribes a new client to a topic that may be completed concurrently.
+     * @param topic The topic.
+     * @param initialEvents Events delivered to this subscriber only, before anything published later.
+     * @param open Whether the topic is still open; checked after the subscriber is registered, so a caller that
+     *             marks the topic closed before calling {@link #complete} never leaves a late subscriber hanging.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(K topic, List<SseEventBuilder> initialEvents, BooleanSupplier open) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        for (SseEventBuilder event : initialEvents) {
+            subscriber.offer(event.build());
+        }
+        subscribersByTopic.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        if (!open.getAsBoolean()) {
+            // complete() may have run before the subscriber was registered; end its stream after the initial events
+            subscriber.end();
+        }
+        return emitter;
+    }
+
+    /**
+     * Queues an event for every subscriber of a topic. Never blocks.
+     * @param topic The topic.
+     * @param event The event.
+     */
+    public void publish(K topic, SseEventBuilder event) {
+        Set<Subscriber> subscribers = subscribersByTopic.get(topic);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> payload = event.build(); // Built once, shared by every subscriber
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(payload);
+        }
+    }
+
+    /**
+     * Sends a final event to every subscriber of a topic and then ends their streams.
+     * @param topic The topic.
+     * @param finalEvent The last event, or null.
+     */
+    public void complete(K topic, SseEventBuilder finalEvent) {
+        Set<Subscriber> subscribers = subscribersByTopic.remove(topic);
+        if (subscribers == null) {
+            return;
+        }
+        Set<DataWithMediaType> payload = finalEvent != null ? finalEvent.build() : null;
+        for (Subscriber subscriber : subscribers) {
+            if (payload != null) {
+                subscriber.offer(payload);
+            }
+            subscriber.end();
+        }
+    }
+
+    /**
+     * @param topic The topic.
+     * @return Number of connected subscribers.
+     */
+    public int subscriberCount(K topic) {
+        Set<Subscriber> subscribers = subscribersByTopic.get(topic);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    private final class Subscriber implements Runnable {
+        private final K topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(K topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> payload) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(payload)) {
+                logger.warn("{} subscriber on {} is too slow ({} events queued), disconnecting.", name, topic, queueCapacity);
+                close();
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        void end() {
+            offer(END_OF_STREAM);
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    close();
+                    emitter.complete();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> payload;
+                while (!closed && (payload = queue.poll()) != null) {
+                    if (payload == END_OF_STREAM) {
+                        close();
+                        emitter.complete();
+                        return;
+                    }
+                    emitter.send(payload);
+                }
+            } catch (Exception e) {
+                // Client went away or the response is no longer usable
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                schedule(); // Events arrived after the last poll
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribersByTopic.computeIfPresent(topic, (key, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
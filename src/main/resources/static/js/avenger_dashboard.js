@@ -123,8 +123,41 @@ document.addEventListener('DOMContentLoaded', () => {
     }
 
     // --- Initial Load & User Details ---
+    // Sections delivered by the bootstrap request; each is used by its section's first load only, later loads fetch fresh data
+    let bootstrapSections = {};
+    const loadedSections = new Set(); // Sections already loaded, so a bootstrap arriving late does not overwrite fresher data
+    let statsBootstrapped = false; // The overview stats on screen came with the bootstrap and need no reload yet
+
+    function takeBootstrapped(section) {
+        const page = bootstrapSections[section];
+        delete bootstrapSections[section];
+        loadedSections.add(section);
+        // A truncated section (more rows behind its cursor) cannot stand in for the full list
+        return page && page.nextCursor == null ? page.items : null;
+    }
+
+    // One request on load instead of one per section; logs the time until the overview is rendered
+    async function loadBootstrap() {
+        const started = performance.now();
+        const data = await fetchData('/api/avenger/bootstrap');
+        if (data) {
+            const { user, stats, unavailable, syncToken, ...sections } = data;
+            bootstrapSections = Object.fromEntries(Object.entries(sections).filter(([name]) => !loadedSections.has(name)));
+            renderUserDetails(user);
+            renderAvengerDashboardStats(stats);
+            statsBootstrapped = true;
+            if (unavailable.length > 0) {
+                console.warn('Dashboard bootstrap incomplete:', unavailable);
+            }
+            console.debug(`Dashboard bootstrap rendered in ${Math.round(performance.now() - started)} ms`);
+        }
+    }
+
     async function loadUserDetails() {
-        const data = await fetchData('/api/user/details');
+        renderUserDetails(await fetchData('/api/user/details'));
+    }
+
+    function renderUserDetails(data) {
         if (data) {
             welcomeUsernameSpan.textContent = data.username;
             // Store user details globally if needed for other sections, e.g., currentBalance
@@ -142,36 +175,52 @@ document.addEventListener('DOMContentLoaded', () => {
 
     // --- Dashboard Overview Stats ---
     async function loadAvengerDashboardStats() {
-        const stats = await fetchData('/api/avenger/dashboard-stats');
+        renderAvengerDashboardStats(await fetchData('/api/avenger/dashboard-stats'));
+    }
+
+    function renderAvengerDashboardStats(stats) {
         if (stats) {
-            activeMissionsElem.textContent = stats.activeMissions;
-            completedMissionsElem.textContent = stats.completedMissions;
-            attendanceRateElem.textContent = `${stats.attendanceRate.toFixed(1)}`; // Format to one decimal place
+            // Figures the server could not load in time come back as null
+            activeMissionsElem.textContent = stats.activeMissions ?? '—';
+            completedMissionsElem.textContent = stats.completedMissions ?? '—';
+            attendanceRateElem.textContent = stats.attendanceRate != null ? `${stats.attendanceRate.toFixed(1)}` : '—'; // Format to one decimal place
             currentBalanceElem.textContent = `₹ ${parseFloat(stats.currentBalance).toLocaleString('en-IN')}`;
         }
     }
 
-    // --- Recent Activity (Placeholder, needs backend implementation) ---
+    // --- Recent Activity ---
+    const activityIcons = {
+        TRANSACTION: 'fas fa-coins',
+        ATTENDANCE: 'fas fa-user-check',
+        MISSION: 'fas fa-rocket',
+        FEEDBACK: 'fas fa-comment',
+        ANNOUNCEMENT: 'fas fa-bullhorn'
+    };
+
     async function loadRecentActivity() {
-        // This would ideally fetch a combined list of recent missions, attendance, transactions etc.
-        // For now, it remains a placeholder.
-        recentActivityTimeline.innerHTML = '<p class="no-data-message">No recent activity.</p>';
-        // Example:
-        // const activityData = await fetchData('/api/avenger/recent-activity');
-        // if (activityData && activityData.length > 0) {
-        //     recentActivityTimeline.innerHTML = '';
-        //     activityData.forEach(item => {
-        //         const activityItem = document.createElement('div');
-        //         activityItem.className = 'activity-item';
-        //         activityItem.innerHTML = `...`; // Populate based on item type
-        //         recentActivityTimeline.appendChild(activityItem);
-        //     });
-        // }
+        // Newest 10 entries across transactions, attendance, missions, feedback and announcements
+        const activityData = await fetchData('/api/avenger/recent-activity?limit=10');
+        if (!activityData || activityData.length === 0) {
+            recentActivityTimeline.innerHTML = '<p class="no-data-message">No recent activity.</p>';
+            return;
+        }
+        recentActivityTimeline.innerHTML = '';
+        activityData.forEach(item => {
+            const activityItem = document.createElement('div');
+            activityItem.className = 'activity-item';
+            activityItem.innerHTML = `
+                <i class="${activityIcons[item.type] || 'fas fa-circle'} activity-icon"></i>
+                <span></span>
+                <time>${new Date(item.occurredAt).toLocaleString()}</time>
+            `;
+            activityItem.querySelector('span').textContent = item.text; // Text can contain user input
+            recentActivityTimeline.appendChild(activityItem);
+        });
     }
 
     // --- My Missions Section ---
     async function loadMyMissions(filterStatus = 'all') {
-        const missions = await fetchData('/api/avenger/missions/my');
+        const missions = takeBootstrapped('missions') ?? await fetchData('/api/avenger/missions/my?unpaged=true');
         if (missions) {
             missionsContainer.innerHTML = ''; // Clear existing
             const filteredMissions = filterStatus === 'all' ? missions : missions.filter(m => m.status === filterStatus);
@@ -236,7 +285,7 @@ document.addEventListener('DOMContentLoaded', () => {
 
     // --- Attendance Section ---
     async function loadAttendanceHistory(year, month) {
-        const records = await fetchData('/api/avenger/attendance/history');
+        const records = takeBootstrapped('attendance') ?? await fetchData('/api/avenger/attendance/history?unpaged=true');
         const stats = await fetchData(`/api/avenger/attendance/stats/${year}/${month}`);
 
         if (records) {
@@ -338,7 +387,7 @@ document.addEventListener('DOMContentLoaded', () => {
     // --- Balance Section ---
     async function loadBalanceData() {
         const userDetails = await fetchData('/api/user/details'); // Get current balance
-        const transactions = await fetchData('/api/avenger/transactions/history'); // Get all transactions
+        const transactions = takeBootstrapped('transactions') ?? await fetchData('/api/avenger/transactions/history?unpaged=true'); // Get all transactions
         const currentMonth = new Date();
         const earnings = await fetchData(`/api/avenger/earnings/${currentMonth.getFullYear()}/${currentMonth.getMonth() + 1}`);
 
@@ -435,7 +484,7 @@ document.addEventListener('DOMContentLoaded', () => {
     });
 
     async function loadFeedbackHistory() {
-        const feedbackItems = await fetchData('/api/avenger/feedback/my');
+        const feedbackItems = takeBootstrapped('feedback') ?? await fetchData('/api/avenger/feedback/my?unpaged=true');
         if (feedbackItems) {
             feedbackHistoryList.innerHTML = ''; // Clear existing
             if (feedbackItems.length === 0) {
@@ -469,7 +518,7 @@ document.addEventListener('DOMContentLoaded', () => {
 
     // --- Announcements Section ---
     async function loadAnnouncements() {
-        const announcements = await fetchData('/api/avenger/announcements');
+        const announcements = takeBootstrapped('announcements') ?? await fetchData('/api/avenger/announcements?unpaged=true');
         if (announcements) {
             announcementsContainer.innerHTML = ''; // Clear existing
             if (announcements.length === 0) {
@@ -602,6 +651,39 @@ document.addEventListener('DOMContentLoaded', () => {
         loadSectionData(sectionId);
     }
 
+    // Loads the data shown by a section each time it is opened; list sections start from their bootstrapped page
+    function loadSectionData(sectionId) {
+        switch (sectionId) {
+            case 'overview':
+                if (!statsBootstrapped) {
+                    loadAvengerDashboardStats();
+                }
+                statsBootstrapped = false;
+                loadRecentActivity();
+                break;
+            case 'missions':
+                loadMyMissions(document.querySelector('.mission-filters .filter-btn.active')?.dataset.filter || 'all');
+                break;
+            case 'attendance':
+                loadAttendanceHistory(currentCalendarDate.getFullYear(), currentCalendarDate.getMonth() + 1);
+                break;
+            case 'balance':
+                loadBalanceData();
+                break;
+            case 'feedback':
+                loadFeedbackHistory();
+                break;
+            case 'announcements':
+                loadAnnouncements();
+                break;
+            case 'profile':
+                loadProfileData();
+                break;
+            default:
+                break;
+        }
+    }
+
     navItems.forEach(item => {
         item.addEventListener('click', () => {
             switchSection(item.dataset.section);
@@ -624,9 +706,8 @@ document.addEventListener('DOMContentLoaded', () => {
     });
 
     // --- Initial Data Load on Dashboard Load ---
-    loadUserDetails();
-    // Activate the default section (overview) and load its data
-    switchSection('overview');
+    // Activate the default section (overview) once the bootstrap has rendered its stats
+    loadBootstrap().then(() => switchSection('overview'));
     // Initialize calendar for current month
     const today = new Date();
     renderCalendar(today.getFullYear(), today.getMonth() + 1, []); // Render empty initially, then load data
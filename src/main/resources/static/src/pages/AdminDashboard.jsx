@@ -166,7 +166,7 @@ export const AdminDashboard = () => {
 
   const fetchAvengers = useCallback(async () => {
     setLoadingAvengers(true);
-    const avengers = await fetchData('/api/admin/avengers', 'GET', null, setErrorAvengers);
+    const avengers = await fetchData('/api/admin/avengers?unpaged=true', 'GET', null, setErrorAvengers);
     if (avengers) {
       setAvengersData(avengers);
     }
@@ -175,7 +175,7 @@ export const AdminDashboard = () => {
 
   const fetchPaymentRecords = useCallback(async () => {
     setLoadingPayments(true);
-    const transactions = await fetchData('/api/admin/payments/history', 'GET', null, setErrorPayments);
+    const transactions = await fetchData('/api/admin/payments/history?unpaged=true', 'GET', null, setErrorPayments);
     if (transactions) {
       setPaymentRecords(transactions);
     }
@@ -184,7 +184,7 @@ export const AdminDashboard = () => {
 
   const fetchMissions = useCallback(async () => {
     setLoadingMissions(true);
-    const missions = await fetchData('/api/admin/missions', 'GET', null, setErrorMissions);
+    const missions = await fetchData('/api/admin/missions?unpaged=true', 'GET', null, setErrorMissions);
     if (missions) {
       setMissionsData(missions);
     }
@@ -193,7 +193,7 @@ export const AdminDashboard = () => {
 
   const fetchAttendanceRecords = useCallback(async () => {
     setLoadingAttendance(true);
-    const records = await fetchData('/api/admin/attendance/records', 'GET', null, setErrorAttendance);
+    const records = await fetchData('/api/admin/attendance/records?unpaged=true', 'GET', null, setErrorAttendance);
     if (records) {
       setAttendanceRecords(records);
     }
@@ -202,7 +202,7 @@ export const AdminDashboard = () => {
 
   const fetchFeedback = useCallback(async () => {
     setLoadingFeedback(true);
-    const feedbackItems = await fetchData('/api/admin/feedback', 'GET', null, setErrorFeedback);
+    const feedbackItems = await fetchData('/api/admin/feedback?unpaged=true', 'GET', null, setErrorFeedback);
     if (feedbackItems) {
       setFeedbackData(feedbackItems);
     }
@@ -211,7 +211,7 @@ export const AdminDashboard = () => {
 
   const fetchAnnouncements = useCallback(async () => {
     setLoadingAnnouncements(true);
-    const announcements = await fetchData('/api/admin/announcements', 'GET', null, setErrorAnnouncements);
+    const announcements = await fetchData('/api/admin/announcements?unpaged=true', 'GET', null, setErrorAnnouncements);
     if (announcements) {
       setAnnouncementsData(announcements);
     }
@@ -155,9 +155,10 @@ export const AvengerDashboard = () => {
     const stats = await fetchData('/api/avenger/dashboard-stats', 'GET', null, setErrorStats);
     if (stats) {
       setAvengerDashboardStats([
-        { icon: 'fas fa-rocket', title: 'Active Missions', value: stats.activeMissions.toString() },
-        { icon: 'fas fa-trophy', title: 'Completed Missions', value: stats.completedMissions.toString() },
-        { icon: 'fas fa-percentage', title: 'Attendance Rate', value: `${stats.attendanceRate.toFixed(1)}%` },
+        // Figures the server could not load in time come back as null
+        { icon: 'fas fa-rocket', title: 'Active Missions', value: stats.activeMissions?.toString() ?? '—' },
+        { icon: 'fas fa-trophy', title: 'Completed Missions', value: stats.completedMissions?.toString() ?? '—' },
+        { icon: 'fas fa-percentage', title: 'Attendance Rate', value: stats.attendanceRate != null ? `${stats.attendanceRate.toFixed(1)}%` : '—' },
         { icon: 'fas fa-coins', title: 'Current Balance', value: `₹ ${parseFloat(stats.currentBalance).toLocaleString('en-IN')}` }
       ]);
     }
@@ -166,22 +167,29 @@ export const AvengerDashboard = () => {
 
   const fetchRecentActivity = useCallback(async () => {
     setLoadingRecentActivity(true);
-    // This endpoint is not explicitly defined in your backend, using placeholder
-    // If you implement this, it should return a list of recent activities
-    // e.g., /api/avenger/recent-activity
-    const dummyActivities = [
-      { icon: 'fas fa-rocket', text: 'Mission "Operation Shield" assigned', time: '2 hours ago' },
-      { icon: 'fas fa-user-check', text: 'Attendance marked for today', time: '8 hours ago' },
-      { icon: 'fas fa-trophy', text: 'Mission "Rescue Alpha" completed', time: '1 day ago' },
-    ];
-    setRecentActivities(dummyActivities);
+    // Newest 10 entries across transactions, attendance, missions, feedback and announcements
+    const activityIcons = {
+      TRANSACTION: 'fas fa-coins',
+      ATTENDANCE: 'fas fa-user-check',
+      MISSION: 'fas fa-rocket',
+      FEEDBACK: 'fas fa-comment',
+      ANNOUNCEMENT: 'fas fa-bullhorn',
+    };
+    const activities = await fetchData('/api/avenger/recent-activity?limit=10', 'GET', null, setErrorRecentActivity);
+    if (activities) {
+      setRecentActivities(activities.map(item => ({
+        icon: activityIcons[item.type] || 'fas fa-circle',
+        text: item.text,
+        time: new Date(item.occurredAt).toLocaleString(),
+      })));
+      setErrorRecentActivity(null); // Clear any previous errors
+    }
     setLoadingRecentActivity(false);
-    setErrorRecentActivity(null); // Clear any previous errors
-  }, []); // No dependencies as it's dummy data for now
+  }, [fetchData]);
 
   const fetchMyMissions = useCallback(async (filterStatus = 'all') => {
     setLoadingMyMissions(true);
-    const missions = await fetchData('/api/avenger/missions/my', 'GET', null, setErrorMyMissions);
+    const missions = await fetchData('/api/avenger/missions/my?unpaged=true', 'GET', null, setErrorMyMissions);
     if (missions) {
       const filtered = filterStatus === 'all' ? missions : missions.filter(m => m.status === filterStatus.toUpperCase());
       setMyMissions(filtered);
@@ -191,7 +199,7 @@ export const AvengerDashboard = () => {
 
   const fetchAttendanceData = useCallback(async (year, month) => {
     setLoadingAttendance(true);
-    const records = await fetchData('/api/avenger/attendance/history', 'GET', null, setErrorAttendance);
+    const records = await fetchData('/api/avenger/attendance/history?unpaged=true', 'GET', null, setErrorAttendance);
     const stats = await fetchData(`/api/avenger/attendance/stats/${year}/${month}`, 'GET', null, setErrorAttendance);
 
     if (records) {
@@ -213,7 +221,7 @@ export const AvengerDashboard = () => {
   const fetchBalanceData = useCallback(async () => {
     setLoadingBalance(true);
     const userDetails = await fetchData('/api/user/details', 'GET', null, setErrorBalance);
-    const transactionsHistory = await fetchData('/api/avenger/transactions/history', 'GET', null, setErrorBalance);
+    const transactionsHistory = await fetchData('/api/avenger/transactions/history?unpaged=true', 'GET', null, setErrorBalance);
     const currentMonth = new Date();
     const earnings = await fetchData(`/api/avenger/earnings/${currentMonth.getFullYear()}/${currentMonth.getMonth() + 1}`, 'GET', null, setErrorBalance);
 
@@ -231,7 +239,7 @@ export const AvengerDashboard = () => {
 
   const fetchFeedbackHistory = useCallback(async () => {
     setLoadingFeedback(true);
-    const feedbackItems = await fetchData('/api/avenger/feedback/my', 'GET', null, setErrorFeedback);
+    const feedbackItems = await fetchData('/api/avenger/feedback/my?unpaged=true', 'GET', null, setErrorFeedback);
     if (feedbackItems) {
       setFeedbackHistory(feedbackItems);
     }
@@ -240,7 +248,7 @@ export const AvengerDashboard = () => {
 
   const fetchAnnouncements = useCallback(async () => {
     setLoadingAnnouncements(true);
-    const announcementsList = await fetchData('/api/avenger/announcements', 'GET', null, setErrorAnnouncements);
+    const announcementsList = await fetchData('/api/avenger/announcements?unpaged=true', 'GET', null, setErrorAnnouncements);
     if (announcementsList) {
       setAnnouncements(announcementsList);
     }
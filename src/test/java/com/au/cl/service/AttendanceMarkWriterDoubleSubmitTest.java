@@ -0,0 +1,137 @@
+package com.au.cl.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.au.cl.dto.AttendanceWriterMetricsDTO;
+
+/**
+ * Every Avenger submits the same mark twice at the same moment. The database is replaced by a
+ * JdbcTemplate that applies INSERT IGNORE semantics on (session_id, user_id) and answers the writer's
+ * follow-up SELECT of the rows carrying a batch's created_at stamp.
+ */
+class AttendanceMarkWriterDoubleSubmitTest {
+
+    private static final int AVENGERS = 2_000;
+    private static final int ALREADY_MARKED = 100; // Rows the in-memory registry did not know about
+    private static final long SESSION_ID = 7L;
+    private static final int COLUMNS = 4; // session_id, user_id, marked_at, created_at
+
+    private final Map<List<Long>, Object> table = new ConcurrentHashMap<>(); // (session_id, user_id) -> created_at
+    private final AtomicInteger inserts = new AtomicInteger();
+    private final AtomicInteger selects = new AtomicInteger();
+    private AttendanceMarkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate insertIgnoreJdbc = new JdbcTemplate() {
+            @Override
+            public int update(String sql, Object... args) {
+                inserts.incrementAndGet();
+                int inserted = 0;
+                for (int i = 0; i < args.length; i += COLUMNS) {
+                    if (table.putIfAbsent(List.of((Long) args[i], (Long) args[i + 1]), args[i + 3]) == null) {
+                        inserted++;
+                    }
+                }
+                return inserted;
+            }
+
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                Set<Object> userIds = Set.of(args).stream().filter(arg -> arg instanceof Long).collect(Collectors.toSet());
+                List<T> rows = new ArrayList<>();
+                try {
+                    for (Map.Entry<List<Long>, Object> row : table.entrySet()) {
+                        if (row.getValue().equals(args[0]) && userIds.contains(row.getKey().get(1))) {
+                            ResultSet resultSet = mock(ResultSet.class);
+                            when(resultSet.getLong(1)).thenReturn(row.getKey().get(0));
+                            when(resultSet.getLong(2)).thenReturn(row.getKey().get(1));
+                            rows.add(rowMapper.mapRow(resultSet, rows.size()));
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                selects.incrementAndGet();
+                return rows;
+            }
+        };
+        writer = new AttendanceMarkWriter(insertIgnoreJdbc, TransactionOperations.withoutTransaction(), 500, 5, 10_000, 30_000);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void doubleSubmitInsertsOnceAndReportsTheOtherAsAlreadyMarked() throws Exception {
+        for (long userId = 1; userId <= ALREADY_MARKED; userId++) {
+            table.put(List.of(SESSION_ID, userId), LocalDateTime.MIN);
+        }
+
+        ExecutorService taps = Executors.newFixedThreadPool(200);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> first = new ArrayList<>(AVENGERS);
+        List<Future<Boolean>> second = new ArrayList<>(AVENGERS);
+        for (long userId = 1; userId <= AVENGERS; userId++) {
+            final long id = userId;
+            first.add(taps.submit(() -> {
+                go.await();
+                return writer.write(SESSION_ID, id, LocalDateTime.now());
+            }));
+            second.add(taps.submit(() -> {
+                go.await();
+                return writer.write(SESSION_ID, id, LocalDateTime.now());
+            }));
+        }
+        go.countDown();
+
+        for (int i = 0; i < AVENGERS; i++) {
+            boolean a = first.get(i).get(60, TimeUnit.SECONDS);
+            boolean b = second.get(i).get(60, TimeUnit.SECONDS);
+            if (i < ALREADY_MARKED) {
+                assertFalse(a || b, "User " + (i + 1) + " was already marked");
+            } else {
+                assertEquals(1, (a ? 1 : 0) + (b ? 1 : 0), "User " + (i + 1) + " must be inserted exactly once");
+            }
+        }
+        taps.shutdown();
+
+        AttendanceWriterMetricsDTO metrics = writer.getMetrics();
+        assertEquals(AVENGERS, table.size());
+        assertEquals(AVENGERS - ALREADY_MARKED, metrics.getMarksWritten());
+        assertEquals(AVENGERS + ALREADY_MARKED, metrics.getMarksDuplicate());
+        assertEquals(0, metrics.getMarksFailed());
+        assertEquals(metrics.getBatches(), inserts.get(), "One INSERT per batch, never replayed row by row");
+        assertTrue(selects.get() <= metrics.getBatches(), "At most one follow-up SELECT per batch");
+    }
+}
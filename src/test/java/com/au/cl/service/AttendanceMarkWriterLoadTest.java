@@ -0,0 +1,97 @@
+package com.au.cl.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.au.cl.dto.AttendanceWriterMetricsDTO;
+
+/**
+ * Simulates 5,000 Avengers marking attendance at the same moment against the coalescing writer.
+ * The database is replaced by a JdbcTemplate that records rows and sleeps to mimic a commit.
+ */
+class AttendanceMarkWriterLoadTest {
+
+    private static final int AVENGERS = 5_000;
+    private static final long SESSION_ID = 42L;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int COLUMNS = 4; // session_id, user_id, marked_at, created_at
+
+    private final Set<Long> insertedUserIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger statements = new AtomicInteger();
+    private AttendanceMarkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate recordingJdbc = new JdbcTemplate() {
+            @Override
+            public int update(String sql, Object... args) {
+                statements.incrementAndGet();
+                for (int i = 0; i < args.length; i += COLUMNS) {
+                    insertedUserIds.add((Long) args[i + 1]);
+                }
+                try {
+                    Thread.sleep(2); // Round trip plus commit
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return args.length / COLUMNS;
+            }
+        };
+        writer = new AttendanceMarkWriter(recordingJdbc, TransactionOperations.withoutTransaction(), MAX_BATCH_SIZE, 5, 10_000, 30_000);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void burstOfMarksIsCoalescedIntoFewBatches() throws Exception {
+        ExecutorService avengers = Executors.newFixedThreadPool(500);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> acks = new ArrayList<>(AVENGERS);
+        for (long userId = 1; userId <= AVENGERS; userId++) {
+            final long id = userId;
+            acks.add(avengers.submit(() -> {
+                go.await();
+                writer.write(SESSION_ID, id, LocalDateTime.now());
+                return null;
+            }));
+        }
+
+        go.countDown();
+        for (Future<?> ack : acks) {
+            ack.get(60, TimeUnit.SECONDS); // Every caller is acknowledged only after its batch "commits"
+        }
+        avengers.shutdown();
+
+        AttendanceWriterMetricsDTO metrics = writer.getMetrics();
+
+        assertEquals(AVENGERS, insertedUserIds.size());
+        assertEquals(AVENGERS, metrics.getMarksWritten());
+        assertEquals(0, metrics.getMarksFailed());
+        assertEquals(metrics.getBatches(), statements.get());
+        assertTrue(metrics.getBatches() < AVENGERS / 10, "Expected marks to be coalesced, got " + metrics.getBatches() + " batches");
+        assertTrue(metrics.getAverageBatchSize() >= 10, "Expected an average batch of at least 10 marks, got " + metrics.getAverageBatchSize());
+        assertTrue(metrics.getMaxBatchSize() <= MAX_BATCH_SIZE, "Batches must not exceed max-batch-size, got " + metrics.getMaxBatchSize());
+    }
+}